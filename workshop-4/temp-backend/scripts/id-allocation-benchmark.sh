@@ -0,0 +1,102 @@
+#!/bin/bash
+# Bulk insert benchmark: POST /users/batch with IDENTITY ids against pooled ids (@PooledId).
+#
+# Usage:
+#   scripts/id-allocation-benchmark.sh [revision] [users per batch] [batches]
+#
+# The revision (default HEAD) is checked out into two temporary worktrees and built in each. One keeps @PooledId; in
+# the other User.id is switched back to GenerationType.IDENTITY, so the id strategy is the only difference. With
+# IDENTITY Hibernate needs each INSERT's generated key before it can persist the next user, so users go out one
+# statement at a time; pooled ids are assigned up front, so users go out in hibernate.jdbc.batch_size batches.
+# Batches are posted back to back over one keep-alive connection; admission control and SQL logging are turned off so
+# inserts are what limits throughput. Every run starts from an empty working directory.
+
+set -euo pipefail
+
+REVISION=${1:-HEAD}
+BATCH_SIZE=${2:-500}
+BATCHES=${3:-40}
+PORT=${PORT:-3000}
+BASE_DIR="$(cd "$(dirname "$0")/.." && pwd)"
+MODULE_PATH=$(git -C "$BASE_DIR" rev-parse --show-prefix)
+BASE_URL="http://localhost:$PORT"
+USER_SOURCE=src/main/java/com/example/swagger/model/User.java
+
+build() {
+    local tree_dir=$1
+    local ids=$2
+    git -C "$BASE_DIR" worktree add --detach "$tree_dir" "$REVISION" > /dev/null 2>&1
+    if [ "$ids" = identity ]; then
+        sed -i 's/@PooledId(sequenceName = "users")/@GeneratedValue(strategy = GenerationType.IDENTITY)/' \
+            "$tree_dir/$MODULE_PATH/$USER_SOURCE"
+        if ! grep -q "GenerationType.IDENTITY" "$tree_dir/$MODULE_PATH/$USER_SOURCE"; then
+            echo "Could not switch User.id to IDENTITY in $REVISION" >&2
+            exit 1
+        fi
+    fi
+    (cd "$tree_dir/$MODULE_PATH" && mvn -B -q -DskipTests package > /dev/null)
+}
+
+run() {
+    local label=$1
+    local jar=$2
+    local work_dir
+    work_dir=$(mktemp -d)
+    (cd "$work_dir" && exec java -jar "$jar" --server.port="$PORT" \
+        --app.admission.enabled=false --spring.jpa.show-sql=false \
+        --logging.level.com.example.swagger=INFO --logging.level.org.springframework.web=INFO \
+        > "$work_dir/app.log" 2>&1) &
+    local pid=$!
+    until curl -sf "$BASE_URL/hello/health" > /dev/null 2>&1; do
+        if ! kill -0 "$pid" 2> /dev/null; then
+            echo "$label failed to start, see $work_dir/app.log" >&2
+            exit 1
+        fi
+        sleep 0.1
+    done
+
+    # One request body per batch, with unique emails, all sent from a single curl config over a shared connection
+    local batch i
+    for batch in $(seq "$BATCHES"); do
+        {
+            printf '{"users":['
+            for i in $(seq "$BATCH_SIZE"); do
+                [ "$i" -gt 1 ] && printf ','
+                printf '{"firstName":"Bench","lastName":"User","email":"bench%s-%s@example.com"}' "$batch" "$i"
+            done
+            printf ']}'
+        } > "$work_dir/batch-$batch.json"
+        # curl rejects a config that ends with "next", so it only separates requests
+        [ "$batch" -gt 1 ] && echo "next"
+        echo "url = \"$BASE_URL/users/batch\""
+        echo "header = \"Content-Type: application/json\""
+        echo "data-binary = \"@$work_dir/batch-$batch.json\""
+        echo "write-out = \"\\n%{http_code}\\n\""
+    done > "$work_dir/batches.conf"
+
+    local start end
+    start=$(date +%s%N)
+    curl -s -K "$work_dir/batches.conf" > "$work_dir/responses"
+    end=$(date +%s%N)
+
+    local ok users
+    ok=$(grep -c '^201$' "$work_dir/responses" || true)
+    users=$(( ok * BATCH_SIZE ))
+    kill "$pid"
+    wait "$pid" 2> /dev/null || true
+    rm -rf "$work_dir"
+    local elapsed_ms=$(( (end - start) / 1000000 ))
+    printf "%-9s %8s %10s %11s %14s\n" "$label" "$ok/$BATCHES" "$elapsed_ms" "$(( users * 1000 / elapsed_ms ))" \
+        "$(( elapsed_ms / BATCHES ))"
+}
+
+IDENTITY_TREE=$(mktemp -d -u)
+POOLED_TREE=$(mktemp -d -u)
+trap 'git -C "$BASE_DIR" worktree remove --force "$IDENTITY_TREE" 2> /dev/null || true;
+      git -C "$BASE_DIR" worktree remove --force "$POOLED_TREE" 2> /dev/null || true' EXIT
+build "$IDENTITY_TREE" identity
+build "$POOLED_TREE" pooled
+
+printf "%-9s %8s %10s %11s %14s\n" "ids" "batches" "time (ms)" "users/sec" "ms/batch"
+run identity "$IDENTITY_TREE/$MODULE_PATH/target/swagger-example-1.0.0.jar"
+run pooled "$POOLED_TREE/$MODULE_PATH/target/swagger-example-1.0.0.jar"
@@ -0,0 +1,86 @@
+#!/bin/bash
+# Allocation benchmark: heap bytes allocated per hot GET /users/{id}, with the response cache off and on.
+#
+# Usage:
+#   mvn package
+#   scripts/response-cache-benchmark.sh [requests]
+#
+# The JVM runs with a young generation large enough that no collection happens during the measured requests, so the
+# growth of eden used (jstat EU) is what the server allocated. A forced collection after warm-up empties eden first.
+# TLABs are pinned at 64 KB: eden used counts whole TLABs, and adaptively sized ones grow to tens of megabytes here.
+# Requests go over one keep-alive connection, and SQL and web debug logging are off so they do not dominate.
+# Every run starts from an empty working directory.
+
+set -euo pipefail
+
+REQUESTS=${1:-20000}
+WARMUP=${WARMUP:-5000}
+PORT=${PORT:-3000}
+BASE_DIR="$(cd "$(dirname "$0")/.." && pwd)"
+JAR="$BASE_DIR/target/swagger-example-1.0.0.jar"
+BASE_URL="http://localhost:$PORT"
+
+if [ ! -f "$JAR" ]; then
+    echo "Missing $JAR; run 'mvn package' first" >&2
+    exit 1
+fi
+
+# Prints the named jstat -gc column
+gc_column() {
+    jstat -gc "$1" | awk -v name="$2" 'NR == 1 { for (i = 1; i <= NF; i++) if ($i == name) col = i } NR == 2 { print $col }'
+}
+
+run() {
+    local cache=$1
+    local work_dir
+    work_dir=$(mktemp -d)
+    (cd "$work_dir" && exec java -XX:+UseSerialGC -Xms3g -Xmx3g -Xmn2g -XX:TLABSize=64k -XX:-ResizeTLAB -jar "$JAR" --server.port="$PORT" \
+        --app.user-response-cache.enabled="$cache" --app.admission.enabled=false --spring.jpa.show-sql=false \
+        --logging.level.com.example.swagger=INFO --logging.level.org.springframework.web=INFO \
+        > "$work_dir/app.log" 2>&1) &
+    local pid=$!
+    until curl -sf "$BASE_URL/hello/health" > /dev/null 2>&1; do
+        if ! kill -0 "$pid" 2> /dev/null; then
+            echo "cache=$cache failed to start, see $work_dir/app.log" >&2
+            exit 1
+        fi
+        sleep 0.1
+    done
+
+    local id
+    id=$(curl -sf -X POST "$BASE_URL/users" -H "Content-Type: application/json" \
+        -d '{"firstName":"Bench","lastName":"User","email":"bench@example.com","phone":"0812345678"}' \
+        | grep -o '"id":[0-9]*' | head -1 | cut -d: -f2)
+    curl -s "$BASE_URL/users/$id?n=[1-$WARMUP]" > /dev/null
+    jcmd "$pid" GC.run > /dev/null
+
+    local eden_before young_before start end eden_after young_after
+    eden_before=$(gc_column "$pid" EU)
+    young_before=$(gc_column "$pid" YGC)
+    start=$(date +%s%N)
+    # Bodies and status codes share stdout; a glob only sends the first response to -o
+    curl -s -w "\n%{http_code}\n" "$BASE_URL/users/$id?n=[1-$REQUESTS]" > "$work_dir/responses"
+    end=$(date +%s%N)
+    eden_after=$(gc_column "$pid" EU)
+    young_after=$(gc_column "$pid" YGC)
+
+    local ok
+    ok=$(grep -c '^200$' "$work_dir/responses" || true)
+    kill "$pid"
+    wait "$pid" 2> /dev/null || true
+    rm -rf "$work_dir"
+    if [ "$young_before" != "$young_after" ]; then
+        echo "cache=$cache: a young collection ran during the measurement; lower the request count" >&2
+        exit 1
+    fi
+    local elapsed_ms=$(( (end - start) / 1000000 ))
+    local allocated_bytes
+    allocated_bytes=$(awk -v before="$eden_before" -v after="$eden_after" 'BEGIN { printf "%d", (after - before) * 1024 }')
+    printf "%-6s %8s %10s %12s %14s\n" "$cache" "$ok/$REQUESTS" "$elapsed_ms" "$(( ok * 1000 / elapsed_ms ))" \
+        "$(( allocated_bytes / REQUESTS ))"
+}
+
+printf "%-6s %8s %10s %12s %14s\n" "cache" "ok" "time (ms)" "reads/sec" "bytes/request"
+for cache in false true; do
+    run "$cache"
+done
@@ -0,0 +1,68 @@
+#!/bin/bash
+# Startup benchmark: time from JVM launch to the first successful GET /hello/health.
+#
+# Usage:
+#   mvn -Pfast-start package
+#   scripts/startup-benchmark.sh [runs]
+#
+# Modes:
+#   default       plain jar, default profile (springdoc, SQL logging, DEBUG web logging)
+#   prod          plain jar, prod profile (no springdoc beans, INFO logging)
+#   prod-aot      prod profile with the AOT-generated bean definitions
+#   prod-aot-cds  prod-aot plus the application CDS archive from the training run
+#
+# Each run starts from an empty working directory, so every mode pays the same first-time migration cost.
+
+set -euo pipefail
+
+RUNS=${1:-5}
+PORT=${PORT:-3000}
+BASE_DIR="$(cd "$(dirname "$0")/.." && pwd)"
+JAR="$BASE_DIR/target/fast-start/swagger-example-1.0.0.jar"
+CDS_ARCHIVE="$BASE_DIR/target/fast-start/app-cds.jsa"
+
+if [ ! -f "$JAR" ] || [ ! -f "$CDS_ARCHIVE" ]; then
+    echo "Missing $JAR or $CDS_ARCHIVE; run 'mvn -Pfast-start package' first" >&2
+    exit 1
+fi
+
+mode_args() {
+    case "$1" in
+        default)      echo "-jar $JAR" ;;
+        prod)         echo "-jar $JAR --spring.profiles.active=prod" ;;
+        prod-aot)     echo "-Dspring.aot.enabled=true -jar $JAR --spring.profiles.active=prod" ;;
+        prod-aot-cds) echo "-XX:SharedArchiveFile=$CDS_ARCHIVE -Xlog:cds=off -Dspring.aot.enabled=true -jar $JAR --spring.profiles.active=prod" ;;
+    esac
+}
+
+measure() {
+    local mode=$1
+    local work_dir
+    work_dir=$(mktemp -d)
+    local start end
+    start=$(date +%s%N)
+    (cd "$work_dir" && exec java $(mode_args "$mode") --server.port="$PORT" > "$work_dir/app.log" 2>&1) &
+    local pid=$!
+    until curl -sf "http://localhost:$PORT/hello/health" > /dev/null 2>&1; do
+        if ! kill -0 "$pid" 2> /dev/null; then
+            echo "$mode failed to start, see $work_dir/app.log" >&2
+            exit 1
+        fi
+        sleep 0.05
+    done
+    end=$(date +%s%N)
+    kill "$pid"
+    wait "$pid" 2> /dev/null || true
+    rm -rf "$work_dir"
+    echo $(( (end - start) / 1000000 ))
+}
+
+printf "%-14s %s\n" "mode" "time to first GET /hello/health (ms), $RUNS runs"
+for mode in default prod prod-aot prod-aot-cds; do
+    results=()
+    for _ in $(seq "$RUNS"); do
+        results+=("$(measure "$mode")")
+    done
+    sorted=($(printf "%s\n" "${results[@]}" | sort -n))
+    printf "%-14s median %6s   runs: %s\n" "$mode" "${sorted[$(( RUNS / 2 ))]}" "${results[*]}"
+done
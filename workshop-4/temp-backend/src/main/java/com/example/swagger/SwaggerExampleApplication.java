@@ -2,11 +2,18 @@ package com.example.swagger;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class SwaggerExampleApplication {
 
     public static void main(String[] args) {
-        SpringApplication.run(SwaggerExampleApplication.class, args);
+        ConfigurableApplicationContext context = SpringApplication.run(SwaggerExampleApplication.class, args);
+        // Training run for the CDS archive (see the fast-start profile): start fully, then exit cleanly
+        if (Boolean.getBoolean("app.startup.exit-on-ready")) {
+            System.exit(SpringApplication.exit(context));
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,341 @@
+package com.example.swagger.cache;
+
+import com.example.swagger.event.UserChangedEvent;
+import com.example.swagger.event.UserChangedEvent.ChangeType;
+import com.example.swagger.model.User;
+import com.example.swagger.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Current points of every user, for {@code GET /users/{id}/points}.
+ * <p>
+ * A primitive open-addressing map (linear probing, backward-shift deletion) split into segments, each guarded by a
+ * {@link StampedLock}: lookups are optimistic and allocate nothing, writers lock one segment. A slot is a {@code long}
+ * key, an {@code int} balance and a {@code long} version (20 bytes) at a load factor of at most 0.75, so 10M users take
+ * about 335 MB. The index is loaded from the users table at startup and updated after each user change commits;
+ * the version ({@code updatedAt}) keeps a late after-commit callback from overwriting a newer balance. A delete leaves
+ * a tombstone stamped with the time of the delete, so a callback from an earlier change cannot bring the user back;
+ * tombstones are purged once no such callback can still be pending.
+ */
+@Component
+public class BalanceIndex implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(BalanceIndex.class);
+
+    public static final int NOT_FOUND = Integer.MIN_VALUE;
+
+    private static final int SEGMENT_BITS = 6;
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final long EMPTY = 0L;
+
+    private final Segment[] segments = new Segment[1 << SEGMENT_BITS];
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Value("${app.balance-index.load-batch-size:10000}")
+    private int loadBatchSize;
+
+    @Value("${app.balance-index.tombstone-retention-ms:60000}")
+    private long tombstoneRetentionMillis;
+
+    public BalanceIndex() {
+        for (int i = 0; i < segments.length; i++) {
+            segments[i] = new Segment();
+        }
+    }
+
+    // Returns NOT_FOUND for unknown ids
+    public int get(long userId) {
+        if (userId == EMPTY) {
+            return NOT_FOUND;
+        }
+        long hash = hash(userId);
+        return segmentFor(hash).get(userId, hash);
+    }
+
+    public void put(long userId, int points, long version) {
+        if (userId == EMPTY) {
+            return;
+        }
+        long hash = hash(userId);
+        segmentFor(hash).put(userId, hash, points, version);
+    }
+
+    // Later puts for the user are ignored unless their version is newer than this one
+    public void remove(long userId, long version) {
+        if (userId == EMPTY) {
+            return;
+        }
+        long hash = hash(userId);
+        segmentFor(hash).remove(userId, hash, version);
+    }
+
+    // Live users only; tombstones are not counted
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    @Scheduled(fixedDelay = 1, timeUnit = TimeUnit.MINUTES)
+    public void purgeTombstones() {
+        long cutoff = nowVersion() - TimeUnit.MILLISECONDS.toMicros(tombstoneRetentionMillis);
+        for (Segment segment : segments) {
+            segment.purgeTombstones(cutoff);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        if (event.getChangeType() == ChangeType.DELETED) {
+            remove(event.getUserId(), nowVersion());
+        } else {
+            User user = event.getUser();
+            put(user.getId(), user.getPoints(), version(user.getUpdatedAt()));
+        }
+    }
+
+    // Every user is loaded before requests arrive, so a miss in get() means the user does not exist
+    @Override
+    public void afterSingletonsInstantiated() {
+        long start = System.nanoTime();
+        int loaded = 0;
+        long after = 0;
+        List<Object[]> rows;
+        do {
+            rows = userRepository.findBalancesAfter(after, PageRequest.of(0, loadBatchSize));
+            for (Object[] row : rows) {
+                after = (Long) row[0];
+                put(after, (Integer) row[1], version((LocalDateTime) row[2]));
+            }
+            loaded += rows.size();
+        } while (rows.size() == loadBatchSize);
+        log.info("Loaded {} balances in {} ms", loaded, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private Segment segmentFor(long hash) {
+        return segments[(int) (hash >>> (64 - SEGMENT_BITS))];
+    }
+
+    private static long version(LocalDateTime updatedAt) {
+        if (updatedAt == null) {
+            return 0L;
+        }
+        return ChronoUnit.MICROS.between(Instant.EPOCH, updatedAt.atZone(ZoneId.systemDefault()).toInstant());
+    }
+
+    private static long nowVersion() {
+        return ChronoUnit.MICROS.between(Instant.EPOCH, Instant.now());
+    }
+
+    // Stafford variant 13 of the MurmurHash3 finalizer; ids are sequential, so they need mixing before masking
+    private static long hash(long key) {
+        key = (key ^ (key >>> 30)) * 0xbf58476d1ce4e5b9L;
+        key = (key ^ (key >>> 27)) * 0x94d049bb133111ebL;
+        return key ^ (key >>> 31);
+    }
+
+    private static final class Segment {
+        private final StampedLock lock = new StampedLock();
+        private Table table = new Table(INITIAL_CAPACITY);
+        // Occupied slots, tombstones included, which is what the load factor has to count
+        private int size;
+        private int tombstones;
+
+        private int get(long key, long hash) {
+            long stamp = lock.tryOptimisticRead();
+            int value = table.find(key, hash);
+            if (!lock.validate(stamp)) {
+                stamp = lock.readLock();
+                try {
+                    value = table.find(key, hash);
+                } finally {
+                    lock.unlockRead(stamp);
+                }
+            }
+            return value;
+        }
+
+        private void put(long key, long hash, int value, long version) {
+            long stamp = lock.writeLock();
+            try {
+                int slot = table.slotOf(key, hash);
+                if (table.keys[slot] == key) {
+                    if (table.values[slot] == NOT_FOUND) {
+                        if (version > table.versions[slot]) {
+                            table.values[slot] = value;
+                            table.versions[slot] = version;
+                            tombstones--;
+                        }
+                    } else if (version >= table.versions[slot]) {
+                        table.values[slot] = value;
+                        table.versions[slot] = version;
+                    }
+                    return;
+                }
+                insert(slot, key, value, version);
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        // Also records a tombstone for a key never seen, in case its create callback is still to come
+        private void remove(long key, long hash, long version) {
+            long stamp = lock.writeLock();
+            try {
+                int slot = table.slotOf(key, hash);
+                if (table.keys[slot] != key) {
+                    insert(slot, key, NOT_FOUND, version);
+                    tombstones++;
+                } else {
+                    if (table.values[slot] != NOT_FOUND) {
+                        table.values[slot] = NOT_FOUND;
+                        tombstones++;
+                    }
+                    table.versions[slot] = Math.max(table.versions[slot], version);
+                }
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        private void purgeTombstones(long cutoff) {
+            long stamp = lock.writeLock();
+            try {
+                if (tombstones == 0) {
+                    return;
+                }
+                // Collected first, because each removal shifts later entries back
+                List<Long> expired = new ArrayList<>();
+                for (int slot = 0; slot < table.keys.length; slot++) {
+                    if (table.keys[slot] != EMPTY && table.values[slot] == NOT_FOUND && table.versions[slot] < cutoff) {
+                        expired.add(table.keys[slot]);
+                    }
+                }
+                for (long key : expired) {
+                    table.remove(key, hash(key));
+                }
+                size -= expired.size();
+                tombstones -= expired.size();
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        private void insert(int slot, long key, int value, long version) {
+            table.set(slot, key, value, version);
+            if (++size > table.keys.length - (table.keys.length >>> 2)) {
+                table = table.resize();
+            }
+        }
+
+        private int size() {
+            long stamp = lock.readLock();
+            try {
+                return size - tombstones;
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+    }
+
+    private static final class Table {
+        private final long[] keys;
+        private final int[] values;
+        private final long[] versions;
+        private final int mask;
+
+        private Table(int capacity) {
+            this.keys = new long[capacity];
+            this.values = new int[capacity];
+            this.versions = new long[capacity];
+            this.mask = capacity - 1;
+        }
+
+        // May run against a table being modified (optimistic read), so the probe is bounded by the capacity
+        private int find(long key, long hash) {
+            int slot = (int) hash & mask;
+            for (int probes = 0; probes <= mask; probes++) {
+                long candidate = keys[slot];
+                if (candidate == key) {
+                    return values[slot];
+                }
+                if (candidate == EMPTY) {
+                    return NOT_FOUND;
+                }
+                slot = (slot + 1) & mask;
+            }
+            return NOT_FOUND;
+        }
+
+        // Slot holding the key, or the empty slot where it belongs; the table is never full
+        private int slotOf(long key, long hash) {
+            int slot = (int) hash & mask;
+            while (keys[slot] != key && keys[slot] != EMPTY) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+
+        private void set(int slot, long key, int value, long version) {
+            keys[slot] = key;
+            values[slot] = value;
+            versions[slot] = version;
+        }
+
+        // Shifts later entries of the probe run back, so a purged key leaves no marker behind
+        private boolean remove(long key, long hash) {
+            int gap = slotOf(key, hash);
+            if (keys[gap] != key) {
+                return false;
+            }
+            keys[gap] = EMPTY;
+            int slot = gap;
+            while (true) {
+                slot = (slot + 1) & mask;
+                long candidate = keys[slot];
+                if (candidate == EMPTY) {
+                    return true;
+                }
+                int home = (int) hash(candidate) & mask;
+                boolean homeInRange = slot > gap ? home > gap && home <= slot : home > gap || home <= slot;
+                if (!homeInRange) {
+                    set(gap, candidate, values[slot], versions[slot]);
+                    keys[slot] = EMPTY;
+                    gap = slot;
+                }
+            }
+        }
+
+        private Table resize() {
+            Table resized = new Table(keys.length << 1);
+            for (int slot = 0; slot < keys.length; slot++) {
+                long key = keys[slot];
+                if (key != EMPTY) {
+                    resized.set(resized.slotOf(key, hash(key)), key, values[slot], versions[slot]);
+                }
+            }
+            return resized;
+        }
+    }
+}
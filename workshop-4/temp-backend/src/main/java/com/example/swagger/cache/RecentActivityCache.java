@@ -0,0 +1,161 @@
+package com.example.swagger.cache;
+
+import com.example.swagger.event.UserChangedEvent;
+import com.example.swagger.event.UserChangedEvent.ChangeType;
+import com.example.swagger.model.PointsLedgerEntry;
+import com.example.swagger.repository.PointsLedgerRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Last N ledger entries per active user, kept in a fixed-size ring so the dashboard's recent activity is served from memory.
+ * A ring is loaded from the ledger on first read and then appended to after each ledger write commits.
+ * The first reader publishes an empty ring and queries the ledger outside the map's lock; entries appended while the
+ * query runs are kept and merged in, and other readers of that user go to the ledger until the ring is filled.
+ */
+@Component
+public class RecentActivityCache {
+
+    private static final EnumSet<PointsLedgerEntry.EntryType> ALL_TYPES = EnumSet.allOf(PointsLedgerEntry.EntryType.class);
+
+    @Autowired
+    private PointsLedgerRepository pointsLedgerRepository;
+
+    @Value("${app.recent-activity.size:20}")
+    private int size;
+
+    @Value("${app.recent-activity.max-users:100000}")
+    private int maxUsers;
+
+    @Value("${app.recent-activity.idle-minutes:60}")
+    private long idleMinutes;
+
+    private final ConcurrentHashMap<Long, Ring> rings = new ConcurrentHashMap<>();
+
+    public int getSize() {
+        return size;
+    }
+
+    public boolean contains(Long userId) {
+        return rings.containsKey(userId);
+    }
+
+    // Newest first; when the cache is full a cold user is read from the ledger without being cached
+    public List<PointsLedgerEntry> getRecent(Long userId, int limit) {
+        Ring ring = rings.get(userId);
+        if (ring == null) {
+            if (rings.size() >= maxUsers) {
+                return load(userId, limit);
+            }
+            Ring placeholder = new Ring(size);
+            ring = rings.putIfAbsent(userId, placeholder);
+            if (ring == null) {
+                try {
+                    placeholder.fill(load(userId, size));
+                } catch (RuntimeException e) {
+                    rings.remove(userId, placeholder);
+                    throw e;
+                }
+                ring = placeholder;
+            }
+        }
+        List<PointsLedgerEntry> recent = ring.newest(limit);
+        return recent != null ? recent : load(userId, limit);
+    }
+
+    // Called after the ledger write commits; users without a ring are loaded on their next read instead
+    public void append(PointsLedgerEntry entry) {
+        rings.computeIfPresent(entry.getUserId(), (id, ring) -> {
+            ring.add(entry);
+            return ring;
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        if (event.getChangeType() == ChangeType.DELETED) {
+            rings.remove(event.getUserId());
+        }
+    }
+
+    @Scheduled(fixedDelay = 5, timeUnit = TimeUnit.MINUTES)
+    public void evictIdle() {
+        long cutoff = System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(idleMinutes);
+        rings.values().removeIf(ring -> ring.lastAccess < cutoff);
+    }
+
+    private List<PointsLedgerEntry> load(Long userId, int limit) {
+        return pointsLedgerRepository.findHistory(userId, ALL_TYPES, PageRequest.of(0, limit));
+    }
+
+    private static final class Ring {
+        private final PointsLedgerEntry[] slots;
+        private int next;
+        private int count;
+        private boolean filled;
+        private volatile long lastAccess = System.currentTimeMillis();
+
+        private Ring(int size) {
+            this.slots = new PointsLedgerEntry[size];
+        }
+
+        private synchronized void add(PointsLedgerEntry entry) {
+            // An entry committed just before the ring loaded can arrive twice
+            for (int i = 0; i < count; i++) {
+                if (slots[i].getId().equals(entry.getId())) {
+                    return;
+                }
+            }
+            slots[next] = entry;
+            next = (next + 1) % slots.length;
+            count = Math.min(count + 1, slots.length);
+        }
+
+        // Keeps the newest entries by id across the ledger rows and anything appended while they loaded
+        private synchronized void fill(List<PointsLedgerEntry> entries) {
+            Map<Long, PointsLedgerEntry> byId = new TreeMap<>();
+            for (PointsLedgerEntry entry : entries) {
+                byId.put(entry.getId(), entry);
+            }
+            for (int i = 0; i < count; i++) {
+                byId.put(slots[i].getId(), slots[i]);
+            }
+            int skip = byId.size() - slots.length;
+            count = 0;
+            for (PointsLedgerEntry entry : byId.values()) {
+                if (skip-- <= 0) {
+                    slots[count++] = entry;
+                }
+            }
+            next = count % slots.length;
+            filled = true;
+        }
+
+        // null until the ring has been filled from the ledger
+        private synchronized List<PointsLedgerEntry> newest(int limit) {
+            if (!filled) {
+                return null;
+            }
+            lastAccess = System.currentTimeMillis();
+            List<PointsLedgerEntry> entries = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                entries.add(slots[i]);
+            }
+            entries.sort(Comparator.comparing(PointsLedgerEntry::getId).reversed());
+            return entries.size() > limit ? entries.subList(0, limit) : entries;
+        }
+    }
+}
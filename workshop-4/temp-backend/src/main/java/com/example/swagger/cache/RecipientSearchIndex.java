@@ -0,0 +1,497 @@
+package com.example.swagger.cache;
+
+import com.example.swagger.dto.RecipientMatch;
+import com.example.swagger.event.UserChangedEvent;
+import com.example.swagger.event.UserChangedEvent.ChangeType;
+import com.example.swagger.model.User;
+import com.example.swagger.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.text.Normalizer;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * Type-ahead over recipients' names, emails and phone numbers for the transfer screen.
+ * <p>
+ * Fields are normalized (NFC, lower case, single spaces; phones reduced to digits) and every trigram of them maps to a
+ * sorted posting list of internal document ids. Whole fields, the start of each name word and the phone digits are also
+ * kept in a sorted prefix map.
+ * <p>
+ * A query first walks the prefix map range for its key, which finds every whole-field and start-of-field match in key
+ * order. It then intersects the posting lists of its trigrams, starting from the shortest, for matches anywhere in a
+ * field. Each candidate is checked against the normalized fields, so hits are exact substring matches. Thai text needs
+ * no word segmentation because trigrams are taken over characters. Candidates are ranked by where the query matched
+ * (whole field, start of a name or field, anywhere) and only the top {@code limit} are kept.
+ * <p>
+ * The index is built from the users table at startup and updated after user creates, updates and deletes commit.
+ * A delete leaves a timestamped tombstone for a while, so a late callback from an earlier change cannot re-add
+ * the user.
+ */
+@Component
+public class RecipientSearchIndex implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(RecipientSearchIndex.class);
+
+    private static final int GRAM_LENGTH = 3;
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern PHONE_QUERY = Pattern.compile("[0-9+()\\- ]*[0-9][0-9+()\\- ]*");
+
+    private static final Comparator<Candidate> RANKING = Comparator
+            .comparingInt((Candidate candidate) -> candidate.score)
+            .thenComparing(candidate -> -candidate.doc.nameKey.length())
+            .thenComparing(candidate -> -candidate.doc.userId);
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, PostingList> postings = new HashMap<>();
+    private final NavigableMap<String, PostingList> prefixes = new TreeMap<>();
+    private final Map<Long, Integer> docIdByUser = new HashMap<>();
+    private final Map<Long, LocalDateTime> deletedAt = new HashMap<>();
+    private Doc[] docs = new Doc[1024];
+    private int nextDocId;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Value("${app.recipient-search.min-query-length:3}")
+    private int minQueryLength;
+
+    @Value("${app.recipient-search.max-limit:20}")
+    private int maxLimit;
+
+    // Posting entries one query may visit, so a common fragment such as "gmail" costs the same as a rare one
+    @Value("${app.recipient-search.max-scanned:10000}")
+    private int maxScanned;
+
+    @Value("${app.recipient-search.load-batch-size:10000}")
+    private int loadBatchSize;
+
+    @Value("${app.recipient-search.tombstone-retention-ms:60000}")
+    private long tombstoneRetentionMillis;
+
+    // Best matches first; excludeUserId drops the searching user from their own recipient list
+    public List<RecipientMatch> search(String query, int limit, Long excludeUserId) {
+        if (limit < 1 || limit > maxLimit) {
+            throw new RuntimeException("Limit must be between 1 and " + maxLimit);
+        }
+        String key = normalize(query);
+        String digits = PHONE_QUERY.matcher(key).matches() ? digitsOf(key) : null;
+        String gramSource = digits != null ? digits : key;
+        if (gramSource.length() < minQueryLength) {
+            throw new RuntimeException("Query must be at least " + minQueryLength + " characters");
+        }
+        String tokenPrefix = " " + key;
+
+        PriorityQueue<Candidate> top = new PriorityQueue<>(limit + 1, RANKING);
+        Set<Integer> seen = new HashSet<>();
+        int budget = maxScanned;
+        lock.readLock().lock();
+        try {
+            // Whole-field and start-of-field matches, which outrank any match found by trigrams alone
+            budget = scanPrefixes(gramSource, budget, seen, top, limit, key, tokenPrefix, digits, excludeUserId);
+            if (digits != null && !digits.equals(key)) {
+                budget = scanPrefixes(key, budget, seen, top, limit, key, tokenPrefix, digits, excludeUserId);
+            }
+
+            PostingList[] lists = postingListsFor(gramSource);
+            if (lists == null) {
+                return toMatches(top);
+            }
+            PostingList shortest = lists[0];
+            // Newest documents first once the budget cuts the scan short
+            for (int i = shortest.size - 1; i >= 0 && budget > 0; i--, budget--) {
+                int docId = shortest.ids[i];
+                if (!seen.contains(docId) && inAll(lists, docId)) {
+                    offer(docs[docId], top, limit, key, tokenPrefix, digits, excludeUserId);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return toMatches(top);
+    }
+
+    public void index(User user) {
+        Doc doc = new Doc(user);
+        lock.writeLock().lock();
+        try {
+            LocalDateTime deleted = deletedAt.get(doc.userId);
+            if (deleted != null) {
+                if (doc.updatedAt == null || !doc.updatedAt.isAfter(deleted)) {
+                    return;
+                }
+                deletedAt.remove(doc.userId);
+            }
+            Integer existingId = docIdByUser.get(doc.userId);
+            int docId;
+            if (existingId != null) {
+                Doc existing = docs[existingId];
+                if (existing.isNewerThan(doc)) {
+                    return;
+                }
+                docId = existingId;
+                if (!existing.sameKeys(doc)) {
+                    removePostings(existing, docId);
+                    addPostings(doc, docId);
+                }
+            } else {
+                docId = nextDocId++;
+                if (docId == docs.length) {
+                    docs = Arrays.copyOf(docs, docs.length << 1);
+                }
+                docIdByUser.put(doc.userId, docId);
+                addPostings(doc, docId);
+            }
+            docs[docId] = doc;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // The document id is not reused; its slot stays empty. Later index calls for the user need a newer updatedAt.
+    public void remove(Long userId, LocalDateTime when) {
+        lock.writeLock().lock();
+        try {
+            deletedAt.merge(userId, when, (previous, current) -> current.isAfter(previous) ? current : previous);
+            Integer docId = docIdByUser.remove(userId);
+            if (docId != null) {
+                removePostings(docs[docId], docId);
+                docs[docId] = null;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docIdByUser.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Scheduled(fixedDelay = 1, timeUnit = TimeUnit.MINUTES)
+    public void purgeTombstones() {
+        LocalDateTime cutoff = LocalDateTime.now().minusNanos(TimeUnit.MILLISECONDS.toNanos(tombstoneRetentionMillis));
+        lock.writeLock().lock();
+        try {
+            deletedAt.values().removeIf(deleted -> !deleted.isAfter(cutoff));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Points changes do not touch searchable fields
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        if (event.getChangeType() == ChangeType.DELETED) {
+            remove(event.getUserId(), LocalDateTime.now());
+        } else if (event.getChangeType() != ChangeType.POINTS_CHANGED) {
+            index(event.getUser());
+        }
+    }
+
+    // Full build from the users table; later changes arrive through onUserChanged
+    @Override
+    public void afterSingletonsInstantiated() {
+        long start = System.nanoTime();
+        long after = 0;
+        List<User> users;
+        do {
+            users = userRepository.findByIdGreaterThanOrderByIdAsc(after, PageRequest.of(0, loadBatchSize));
+            for (User user : users) {
+                index(user);
+                after = user.getId();
+            }
+        } while (users.size() == loadBatchSize);
+        log.info("Indexed {} recipients ({} trigrams) in {} ms",
+                size(), postings.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    // Scores every document under a prefix map key starting with the query; returns the budget left
+    private int scanPrefixes(String start, int budget, Set<Integer> seen, PriorityQueue<Candidate> top, int limit,
+                             String key, String tokenPrefix, String digits, Long excludeUserId) {
+        for (PostingList list : prefixes.subMap(start, true, start + Character.MAX_VALUE, false).values()) {
+            for (int i = 0; i < list.size; i++) {
+                if (budget-- <= 0) {
+                    return 0;
+                }
+                int docId = list.ids[i];
+                if (seen.add(docId)) {
+                    offer(docs[docId], top, limit, key, tokenPrefix, digits, excludeUserId);
+                }
+            }
+        }
+        return budget;
+    }
+
+    private static void offer(Doc doc, PriorityQueue<Candidate> top, int limit,
+                              String key, String tokenPrefix, String digits, Long excludeUserId) {
+        if (doc == null || (excludeUserId != null && doc.userId == excludeUserId)) {
+            return;
+        }
+        int score = doc.score(key, tokenPrefix, digits);
+        if (score == 0) {
+            return;
+        }
+        top.offer(new Candidate(doc, score));
+        if (top.size() > limit) {
+            top.poll();
+        }
+    }
+
+    private static List<RecipientMatch> toMatches(PriorityQueue<Candidate> top) {
+        List<RecipientMatch> matches = new ArrayList<>(top.size());
+        while (!top.isEmpty()) {
+            matches.add(top.poll().doc.toMatch());
+        }
+        Collections.reverse(matches);
+        return matches;
+    }
+
+    // Posting lists for all trigrams of the query, shortest first, or null if any trigram has no users
+    private PostingList[] postingListsFor(String source) {
+        Set<Long> grams = grams(source);
+        PostingList[] lists = new PostingList[grams.size()];
+        int i = 0;
+        for (Long gram : grams) {
+            PostingList list = postings.get(gram);
+            if (list == null) {
+                return null;
+            }
+            lists[i++] = list;
+        }
+        Arrays.sort(lists, Comparator.comparingInt(list -> list.size));
+        return lists;
+    }
+
+    private static boolean inAll(PostingList[] lists, int docId) {
+        for (int i = 1; i < lists.length; i++) {
+            if (!lists[i].contains(docId)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void addPostings(Doc doc, int docId) {
+        for (Long gram : doc.grams()) {
+            postings.computeIfAbsent(gram, g -> new PostingList()).add(docId);
+        }
+        for (String prefixKey : doc.prefixKeys()) {
+            prefixes.computeIfAbsent(prefixKey, k -> new PostingList()).add(docId);
+        }
+    }
+
+    private void removePostings(Doc doc, int docId) {
+        for (Long gram : doc.grams()) {
+            PostingList list = postings.get(gram);
+            if (list != null && list.remove(docId) && list.size == 0) {
+                postings.remove(gram);
+            }
+        }
+        for (String prefixKey : doc.prefixKeys()) {
+            PostingList list = prefixes.get(prefixKey);
+            if (list != null && list.remove(docId) && list.size == 0) {
+                prefixes.remove(prefixKey);
+            }
+        }
+    }
+
+    private static Set<Long> grams(String value) {
+        Set<Long> grams = new LinkedHashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= value.length(); i++) {
+            grams.add(((long) value.charAt(i) << 32) | ((long) value.charAt(i + 1) << 16) | value.charAt(i + 2));
+        }
+        return grams;
+    }
+
+    private static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+        String normalized = Normalizer.normalize(value, Normalizer.Form.NFC).toLowerCase(Locale.ROOT).trim();
+        return WHITESPACE.matcher(normalized).replaceAll(" ");
+    }
+
+    private static String digitsOf(String value) {
+        StringBuilder digits = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits.append(c);
+            }
+        }
+        return digits.toString();
+    }
+
+    private static final class Doc {
+        private final long userId;
+        private final String firstName;
+        private final String lastName;
+        private final String nameKey;
+        private final String emailKey;
+        private final String phoneKey;
+        private final LocalDateTime updatedAt;
+
+        private Doc(User user) {
+            this.userId = user.getId();
+            this.firstName = user.getFirstName();
+            this.lastName = user.getLastName();
+            this.nameKey = normalize(user.getFirstName() + " " + user.getLastName());
+            this.emailKey = normalize(user.getEmail());
+            this.phoneKey = digitsOf(normalize(user.getPhone()));
+            this.updatedAt = user.getUpdatedAt();
+        }
+
+        private Set<Long> grams() {
+            Set<Long> grams = RecipientSearchIndex.grams(nameKey);
+            grams.addAll(RecipientSearchIndex.grams(emailKey));
+            grams.addAll(RecipientSearchIndex.grams(phoneKey));
+            return grams;
+        }
+
+        // The whole name, each name word to the end of the name, the email and the phone digits
+        private Set<String> prefixKeys() {
+            Set<String> keys = new LinkedHashSet<>();
+            keys.add(nameKey);
+            for (int i = nameKey.indexOf(' '); i >= 0; i = nameKey.indexOf(' ', i + 1)) {
+                keys.add(nameKey.substring(i + 1));
+            }
+            keys.add(emailKey);
+            keys.add(phoneKey);
+            keys.remove("");
+            return keys;
+        }
+
+        // 0 means the trigrams matched but the query is not actually a substring of any field
+        private int score(String key, String tokenPrefix, String digits) {
+            int score = 0;
+            if (nameKey.equals(key)) {
+                score = 100;
+            } else if (nameKey.startsWith(key) || nameKey.contains(tokenPrefix)) {
+                score = 60;
+            } else if (nameKey.contains(key)) {
+                score = 20;
+            }
+            if (emailKey.equals(key)) {
+                score = Math.max(score, 100);
+            } else if (emailKey.startsWith(key)) {
+                score = Math.max(score, 50);
+            } else if (emailKey.contains(key)) {
+                score = Math.max(score, 10);
+            }
+            if (digits != null && !phoneKey.isEmpty()) {
+                if (phoneKey.equals(digits)) {
+                    score = Math.max(score, 100);
+                } else if (phoneKey.startsWith(digits)) {
+                    score = Math.max(score, 50);
+                } else if (phoneKey.endsWith(digits)) {
+                    score = Math.max(score, 40);
+                } else if (phoneKey.contains(digits)) {
+                    score = Math.max(score, 10);
+                }
+            }
+            return score;
+        }
+
+        private boolean sameKeys(Doc other) {
+            return nameKey.equals(other.nameKey) && emailKey.equals(other.emailKey) && phoneKey.equals(other.phoneKey);
+        }
+
+        private boolean isNewerThan(Doc other) {
+            return updatedAt != null && other.updatedAt != null && updatedAt.isAfter(other.updatedAt);
+        }
+
+        private RecipientMatch toMatch() {
+            return new RecipientMatch(userId, firstName, lastName, maskPhone(phoneKey), maskEmail(emailKey));
+        }
+
+        private static String maskPhone(String phone) {
+            if (phone.length() <= 4) {
+                return phone.isEmpty() ? null : phone;
+            }
+            return "x".repeat(phone.length() - 4) + phone.substring(phone.length() - 4);
+        }
+
+        private static String maskEmail(String email) {
+            int at = email.indexOf('@');
+            if (at < 0) {
+                return null;
+            }
+            return email.substring(0, Math.min(2, at)) + "***" + email.substring(at);
+        }
+    }
+
+    private static final class Candidate {
+        private final Doc doc;
+        private final int score;
+
+        private Candidate(Doc doc, int score) {
+            this.doc = doc;
+            this.score = score;
+        }
+    }
+
+    // Growable sorted int array of document ids
+    private static final class PostingList {
+        private int[] ids = new int[4];
+        private int size;
+
+        private boolean contains(int docId) {
+            return Arrays.binarySearch(ids, 0, size, docId) >= 0;
+        }
+
+        private void add(int docId) {
+            // New documents get the highest id so far, so this is almost always an append
+            int position = size == 0 || ids[size - 1] < docId ? size : Arrays.binarySearch(ids, 0, size, docId);
+            if (position < 0) {
+                position = -position - 1;
+            } else if (position < size) {
+                return;
+            }
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size + (size >> 1) + 1);
+            }
+            System.arraycopy(ids, position, ids, position + 1, size - position);
+            ids[position] = docId;
+            size++;
+        }
+
+        private boolean remove(int docId) {
+            int position = Arrays.binarySearch(ids, 0, size, docId);
+            if (position < 0) {
+                return false;
+            }
+            System.arraycopy(ids, position + 1, ids, position, size - position - 1);
+            size--;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package com.example.swagger.cache;
+
+import com.example.swagger.event.UserChangedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Cache of fully encoded {@code GET /users/{id}} response bodies.
+ * Entries are keyed by user id and content type and remember the {@code updatedAt} version they were built from.
+ * Every user mutation bumps a striped invalidation stamp, so a read that raced with a write never stores stale bytes.
+ * <p>
+ * Size is bounded with a CLOCK sweep, an approximation of LRU that keeps hits lock-free: a hit only sets a flag, and an
+ * insert over {@code max-entries} walks the insertion queue, giving flagged entries a second chance and evicting the rest.
+ */
+@Component
+public class UserResponseCache {
+
+    private static final int STAMP_STRIPES = 1024;
+
+    private final ConcurrentHashMap<CacheKey, CachedResponse> entries = new ConcurrentHashMap<>();
+    private final AtomicLongArray stamps = new AtomicLongArray(STAMP_STRIPES);
+    private final Set<String> contentTypes = ConcurrentHashMap.newKeySet();
+    // Insertion order for the CLOCK sweep; may still hold entries that were replaced or invalidated since
+    private final ConcurrentLinkedQueue<CachedResponse> clock = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger clockSize = new AtomicInteger();
+
+    @Value("${app.user-response-cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.user-response-cache.max-entries:10000}")
+    private int maxEntries;
+
+    public byte[] get(Long userId, String contentType) {
+        if (!enabled) {
+            return null;
+        }
+        CachedResponse cached = entries.get(new CacheKey(userId, contentType));
+        if (cached == null) {
+            return null;
+        }
+        if (!cached.referenced) {
+            cached.referenced = true;
+        }
+        return cached.body;
+    }
+
+    // Take a stamp before loading the user; pass it back to put() once the body is encoded
+    public long stamp(Long userId) {
+        return stamps.get(stripe(userId));
+    }
+
+    public void put(Long userId, String contentType, long stamp, LocalDateTime version, byte[] body) {
+        if (!enabled) {
+            return;
+        }
+        contentTypes.add(contentType);
+        CacheKey key = new CacheKey(userId, contentType);
+        CachedResponse cached = new CachedResponse(key, version, body);
+        if (stamps.get(stripe(userId)) != stamp) {
+            return;
+        }
+        if (entries.merge(key, cached, (existing, candidate) -> isNewer(candidate, existing) ? candidate : existing)
+                != cached) {
+            return;
+        }
+        // An invalidation may have slipped in between the stamp check and the merge
+        if (stamps.get(stripe(userId)) != stamp) {
+            entries.remove(key, cached);
+            return;
+        }
+        clock.add(cached);
+        clockSize.incrementAndGet();
+        evict();
+    }
+
+    public void invalidate(Long userId) {
+        stamps.incrementAndGet(stripe(userId));
+        for (String contentType : contentTypes) {
+            entries.remove(new CacheKey(userId, contentType));
+        }
+    }
+
+    public void clear() {
+        for (int i = 0; i < STAMP_STRIPES; i++) {
+            stamps.incrementAndGet(i);
+        }
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    // Also drops queue slots of replaced or invalidated entries, so the queue stays within twice the entry limit
+    private void evict() {
+        for (int budget = clockSize.get(); budget > 0; budget--) {
+            boolean overCapacity = entries.size() > maxEntries;
+            if (!overCapacity && clockSize.get() <= 2 * maxEntries) {
+                return;
+            }
+            CachedResponse candidate = clock.poll();
+            if (candidate == null) {
+                return;
+            }
+            clockSize.decrementAndGet();
+            if (entries.get(candidate.key) != candidate) {
+                continue;
+            }
+            if (overCapacity && !candidate.referenced) {
+                entries.remove(candidate.key, candidate);
+                continue;
+            }
+            if (overCapacity) {
+                candidate.referenced = false;
+            }
+            clock.add(candidate);
+            clockSize.incrementAndGet();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        invalidate(event.getUserId());
+    }
+
+    private static boolean isNewer(CachedResponse candidate, CachedResponse existing) {
+        if (existing.version == null) {
+            return true;
+        }
+        return candidate.version != null && !candidate.version.isBefore(existing.version);
+    }
+
+    private static int stripe(Long userId) {
+        return (Long.hashCode(userId) & 0x7fffffff) % STAMP_STRIPES;
+    }
+
+    private static final class CacheKey {
+        private final Long userId;
+        private final String contentType;
+
+        private CacheKey(Long userId, String contentType) {
+            this.userId = userId;
+            this.contentType = contentType;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof CacheKey)) {
+                return false;
+            }
+            CacheKey other = (CacheKey) o;
+            return userId.equals(other.userId) && contentType.equals(other.contentType);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * userId.hashCode() + contentType.hashCode();
+        }
+    }
+
+    private static final class CachedResponse {
+        private final CacheKey key;
+        private final LocalDateTime version;
+        private final byte[] body;
+        private volatile boolean referenced;
+
+        private CachedResponse(CacheKey key, LocalDateTime version, byte[] body) {
+            this.key = key;
+            this.version = version;
+            this.body = body;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.swagger.config;
+
+import com.example.swagger.model.User;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Per-tier daily caps (PRD 3.3). A tier without an entry has no cap.
+ */
+@Component
+@ConfigurationProperties(prefix = "app.daily-caps")
+public class DailyCapProperties {
+
+    // Width of one bucket in the 24-hour sliding window
+    private int bucketMinutes = 60;
+
+    private Map<User.MembershipLevel, Integer> spend = new EnumMap<>(User.MembershipLevel.class);
+
+    private Map<User.MembershipLevel, Integer> transfer = new EnumMap<>(User.MembershipLevel.class);
+
+    public int getBucketMinutes() {
+        return bucketMinutes;
+    }
+
+    public void setBucketMinutes(int bucketMinutes) {
+        this.bucketMinutes = bucketMinutes;
+    }
+
+    public Map<User.MembershipLevel, Integer> getSpend() {
+        return spend;
+    }
+
+    public void setSpend(Map<User.MembershipLevel, Integer> spend) {
+        this.spend = spend;
+    }
+
+    public Map<User.MembershipLevel, Integer> getTransfer() {
+        return transfer;
+    }
+
+    public void setTransfer(Map<User.MembershipLevel, Integer> transfer) {
+        this.transfer = transfer;
+    }
+}
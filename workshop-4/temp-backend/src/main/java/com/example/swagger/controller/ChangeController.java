@@ -0,0 +1,93 @@
+package com.example.swagger.controller;
+
+import com.example.swagger.dto.ApiResponse;
+import com.example.swagger.dto.ChangeFeed;
+import com.example.swagger.service.ChangeLogService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.ExampleObject;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/changes")
+@Tag(name = "Change Log", description = "Tailable log of user mutations for downstream systems")
+public class ChangeController {
+
+    @Autowired
+    private ChangeLogService changeLogService;
+
+    @Operation(
+        summary = "Read user changes after an offset",
+        description = "Returns changes with an offset greater than 'after', oldest first. "
+            + "Consumers store nextOffset and pass it back as 'after' on the next call. "
+            + "Old entries are compacted down to the latest change per user"
+    )
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "200",
+            description = "Changes retrieved successfully",
+            content = @Content(
+                mediaType = "application/json",
+                examples = @ExampleObject(
+                    name = "Change Batch",
+                    summary = "Example of a change log batch",
+                    value = """
+                        {
+                          "status": "success",
+                          "message": "Changes retrieved successfully",
+                          "data": {
+                            "changes": [
+                              {
+                                "id": 41,
+                                "userId": 1,
+                                "changeType": "POINTS_CHANGED",
+                                "points": 1450,
+                                "pointsDelta": -50,
+                                "membershipLevel": "GOLD",
+                                "createdAt": "2024-01-15T15:45:30"
+                              },
+                              {
+                                "id": 42,
+                                "userId": 7,
+                                "changeType": "DELETED",
+                                "points": null,
+                                "pointsDelta": 0,
+                                "membershipLevel": null,
+                                "createdAt": "2024-01-15T15:46:02"
+                              }
+                            ],
+                            "nextOffset": 42,
+                            "hasMore": false
+                          }
+                        }
+                        """
+                )
+            )
+        )
+    })
+    @GetMapping
+    public ResponseEntity<ApiResponse<ChangeFeed>> getChanges(
+        @Parameter(description = "Return changes with an offset greater than this", example = "0")
+        @RequestParam(defaultValue = "0") Long after,
+        @Parameter(description = "Maximum number of changes to return", example = "100")
+        @RequestParam(defaultValue = "100") Integer limit
+    ) {
+        try {
+            return ResponseEntity.ok(
+                ApiResponse.success("Changes retrieved successfully", changeLogService.getChanges(after, limit))
+            );
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.swagger.controller;
+
+import com.example.swagger.dto.ApiResponse;
+import com.example.swagger.dto.Dashboard;
+import com.example.swagger.service.DashboardService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.ExampleObject;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@Tag(name = "Dashboard", description = "Aggregated wallet dashboard")
+public class DashboardController {
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    @Operation(
+        summary = "Get the wallet dashboard",
+        description = "Returns profile, balance and tier, recent activity and pending QR requests in one call. "
+            + "Parts are loaded in parallel; a part that fails or times out is null and listed in 'errors'"
+    )
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "200",
+            description = "Dashboard retrieved, possibly partial",
+            content = @Content(
+                mediaType = "application/json",
+                examples = @ExampleObject(
+                    name = "Partial Dashboard",
+                    summary = "Example where notifications timed out",
+                    value = """
+                        {
+                          "status": "success",
+                          "message": "Dashboard retrieved successfully",
+                          "data": {
+                            "user": {
+                              "id": 1,
+                              "firstName": "สมชาย",
+                              "lastName": "ใจดี",
+                              "phone": "081-234-5678",
+                              "email": "somchai@example.com",
+                              "memberSince": "2024-01-15T10:30:00",
+                              "membershipLevel": "GOLD",
+                              "points": 760,
+                              "createdAt": "2024-01-15T10:30:00",
+                              "updatedAt": "2024-01-15T15:45:30"
+                            },
+                            "recentActivity": [
+                              {
+                                "id": 1002,
+                                "userId": 1,
+                                "type": "SPEND",
+                                "amount": -240,
+                                "balanceAfter": 760,
+                                "reference": "order:1001",
+                                "createdAt": "2024-01-15T15:45:30"
+                              }
+                            ],
+                            "notifications": null,
+                            "partial": true,
+                            "errors": {
+                              "notifications": "Timed out"
+                            }
+                          }
+                        }
+                        """
+                )
+            )
+        ),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "User not found")
+    })
+    @GetMapping("/users/{id}/dashboard")
+    public ResponseEntity<ApiResponse<Dashboard>> getDashboard(
+        @Parameter(description = "User ID", example = "1")
+        @PathVariable Long id
+    ) {
+        try {
+            return ResponseEntity.ok(
+                ApiResponse.success("Dashboard retrieved successfully", dashboardService.getDashboard(id))
+            );
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+}
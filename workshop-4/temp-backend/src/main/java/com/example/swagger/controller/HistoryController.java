@@ -0,0 +1,129 @@
+package com.example.swagger.controller;
+
+import com.example.swagger.dto.ApiResponse;
+import com.example.swagger.dto.HistoryPage;
+import com.example.swagger.model.PointsLedgerEntry;
+import com.example.swagger.service.HistoryService;
+import com.example.swagger.service.HistoryService.HistoryFilter;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.ExampleObject;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/users/{id}")
+@Tag(name = "Points History", description = "Transaction history and recent activity")
+public class HistoryController {
+
+    @Autowired
+    private HistoryService historyService;
+
+    @Operation(
+        summary = "Get points history",
+        description = "Returns ledger entries newest first. Pass nextCursor back as 'cursor' for the next page; "
+            + "each page costs the same however far back it is"
+    )
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "200",
+            description = "History retrieved successfully",
+            content = @Content(
+                mediaType = "application/json",
+                examples = @ExampleObject(
+                    name = "History Page",
+                    summary = "Example of a history page",
+                    value = """
+                        {
+                          "status": "success",
+                          "message": "History retrieved successfully",
+                          "data": {
+                            "entries": [
+                              {
+                                "id": 1002,
+                                "userId": 1,
+                                "type": "SPEND",
+                                "amount": -240,
+                                "balanceAfter": 760,
+                                "reference": "order:1001",
+                                "createdAt": "2024-01-15T15:45:30"
+                              },
+                              {
+                                "id": 1001,
+                                "userId": 1,
+                                "type": "TRANSFER_IN",
+                                "amount": 250,
+                                "balanceAfter": 1000,
+                                "reference": "payment-request:5f0c6c1e-8f7b-4c86-9d55-0e6b4b0f6a1d",
+                                "createdAt": "2024-01-15T15:40:02"
+                              }
+                            ],
+                            "nextCursor": "1705333202000-1001",
+                            "hasMore": true
+                          }
+                        }
+                        """
+                )
+            )
+        ),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid cursor or limit")
+    })
+    @GetMapping("/history")
+    public ResponseEntity<ApiResponse<HistoryPage>> getHistory(
+        @Parameter(description = "User ID", example = "1")
+        @PathVariable Long id,
+        @Parameter(description = "Entry type filter", example = "ALL")
+        @RequestParam(defaultValue = "ALL") HistoryFilter type,
+        @Parameter(description = "nextCursor from the previous page; omit for the newest entries")
+        @RequestParam(required = false) String cursor,
+        @Parameter(description = "Maximum number of entries to return", example = "20")
+        @RequestParam(defaultValue = "20") Integer limit
+    ) {
+        try {
+            return ResponseEntity.ok(
+                ApiResponse.success("History retrieved successfully", historyService.getHistory(id, type, cursor, limit))
+            );
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    @Operation(
+        summary = "Get recent activity",
+        description = "Returns the user's latest ledger entries for the dashboard, served from memory"
+    )
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Recent activity retrieved"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid limit"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "User not found")
+    })
+    @GetMapping("/activity")
+    public ResponseEntity<ApiResponse<List<PointsLedgerEntry>>> getRecentActivity(
+        @Parameter(description = "User ID", example = "1")
+        @PathVariable Long id,
+        @Parameter(description = "Maximum number of entries to return", example = "10")
+        @RequestParam(defaultValue = "10") Integer limit
+    ) {
+        try {
+            return ResponseEntity.ok(
+                ApiResponse.success("Recent activity retrieved successfully", historyService.getRecentActivity(id, limit))
+            );
+        } catch (RuntimeException e) {
+            HttpStatus status = e.getMessage().contains("not found") ? HttpStatus.NOT_FOUND : HttpStatus.BAD_REQUEST;
+            return ResponseEntity.status(status)
+                .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.swagger.controller;
+
+import com.example.swagger.dto.ApiResponse;
+import com.example.swagger.dto.CheckoutRequest;
+import com.example.swagger.model.Order;
+import com.example.swagger.service.OrderService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.ExampleObject;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/orders")
+@Tag(name = "Orders", description = "Checkout and orders paid with points")
+public class OrderController {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Operation(
+        summary = "Check out a cart",
+        description = "Reserves stock, creates the order and debits the total from the user's points in one transaction"
+    )
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "201",
+            description = "Order paid",
+            content = @Content(
+                mediaType = "application/json",
+                examples = @ExampleObject(
+                    name = "Paid Order",
+                    summary = "Example of a completed checkout",
+                    value = """
+                        {
+                          "status": "success",
+                          "message": "Order paid successfully",
+                          "data": {
+                            "id": 1001,
+                            "userId": 1,
+                            "totalPoints": 240,
+                            "status": "PAID",
+                            "customerName": "สมชาย ใจดี",
+                            "customerPhone": "081-234-5678",
+                            "items": [
+                              {
+                                "id": 1,
+                                "productId": 10,
+                                "productName": "กาแฟเย็น",
+                                "unitPricePoints": 120,
+                                "quantity": 2
+                              }
+                            ],
+                            "createdAt": "2024-01-15T15:45:30"
+                          }
+                        }
+                        """
+                )
+            )
+        ),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "400",
+            description = "Insufficient points or stock, daily spending cap reached, or invalid cart",
+            content = @Content(
+                mediaType = "application/json",
+                examples = @ExampleObject(
+                    name = "Out of Stock",
+                    summary = "Example when a product runs out",
+                    value = """
+                        {
+                          "status": "error",
+                          "message": "Insufficient stock for กาแฟเย็น. Available: 1",
+                          "data": null
+                        }
+                        """
+                )
+            )
+        ),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "404",
+            description = "User or product not found"
+        )
+    })
+    @PostMapping
+    public ResponseEntity<ApiResponse<Order>> checkout(
+        @Valid @RequestBody CheckoutRequest request
+    ) {
+        try {
+            Order order = orderService.checkout(
+                request.getUserId(), request.getItems(), request.getCustomerName(), request.getCustomerPhone());
+            return ResponseEntity.status(HttpStatus.CREATED)
+                .body(ApiResponse.success("Order paid successfully", order));
+        } catch (RuntimeException e) {
+            HttpStatus status = e.getMessage() != null && e.getMessage().contains("not found")
+                ? HttpStatus.NOT_FOUND
+                : HttpStatus.BAD_REQUEST;
+            return ResponseEntity.status(status)
+                .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    @Operation(
+        summary = "Get an order",
+        description = "Returns an order with its lines"
+    )
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Order found"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Order not found")
+    })
+    @GetMapping("/{id}")
+    public ResponseEntity<ApiResponse<Order>> getOrder(
+        @Parameter(description = "Order ID", example = "1001")
+        @PathVariable Long id
+    ) {
+        return orderService.getOrderById(id)
+            .map(order -> ResponseEntity.ok(ApiResponse.success("Order found", order)))
+            .orElse(ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(ApiResponse.error("Order not found with id: " + id)));
+    }
+}
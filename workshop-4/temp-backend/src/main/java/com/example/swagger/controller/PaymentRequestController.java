@@ -0,0 +1,195 @@
+package com.example.swagger.controller;
+
+import com.example.swagger.dto.ApiResponse;
+import com.example.swagger.dto.CreatePaymentRequest;
+import com.example.swagger.dto.PayPaymentRequest;
+import com.example.swagger.model.PaymentRequest;
+import com.example.swagger.service.PaymentRequestService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.ExampleObject;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/payment-requests")
+@Tag(name = "Payment Requests", description = "Request points via QR code and pay pending requests")
+public class PaymentRequestController {
+
+    @Autowired
+    private PaymentRequestService paymentRequestService;
+
+    @Operation(
+        summary = "Create a QR payment request",
+        description = "Creates a pending request for points. Encode qrPayload in the QR code; "
+            + "the request expires after expiresInSeconds if nobody pays it"
+    )
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "201",
+            description = "Payment request created",
+            content = @Content(
+                mediaType = "application/json",
+                examples = @ExampleObject(
+                    name = "Pending Request",
+                    summary = "Example of a newly created payment request",
+                    value = """
+                        {
+                          "status": "success",
+                          "message": "Payment request created successfully",
+                          "data": {
+                            "id": "5f0c6c1e-8f7b-4c86-9d55-0e6b4b0f6a1d",
+                            "recipientId": 1,
+                            "payerId": null,
+                            "amount": 250,
+                            "memo": "Lunch",
+                            "status": "PENDING",
+                            "createdAt": "2024-01-15T15:45:30",
+                            "expiresAt": "2024-01-15T15:50:30",
+                            "completedAt": null,
+                            "qrPayload": "lbkpoints://pay?request=5f0c6c1e-8f7b-4c86-9d55-0e6b4b0f6a1d&recipient=1&amount=250&expiry=1705333830"
+                          }
+                        }
+                        """
+                )
+            )
+        ),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "400",
+            description = "Invalid amount or expiry, or unknown recipient"
+        ),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "503",
+            description = "Too many pending payment requests"
+        )
+    })
+    @PostMapping
+    public ResponseEntity<ApiResponse<PaymentRequest>> createPaymentRequest(
+        @Valid @RequestBody CreatePaymentRequest request
+    ) {
+        try {
+            PaymentRequest created = paymentRequestService.createRequest(
+                request.getRecipientId(), request.getAmount(), request.getMemo(), request.getExpiresInSeconds());
+            return ResponseEntity.status(HttpStatus.CREATED)
+                .body(ApiResponse.success("Payment request created successfully", created));
+        } catch (RuntimeException e) {
+            HttpStatus status = e.getMessage().startsWith("Too many")
+                ? HttpStatus.SERVICE_UNAVAILABLE
+                : HttpStatus.BAD_REQUEST;
+            return ResponseEntity.status(status)
+                .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    @Operation(
+        summary = "Get payment request status",
+        description = "Returns a payment request with its status: PENDING, PAID or EXPIRED"
+    )
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Payment request found"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Payment request not found")
+    })
+    @GetMapping("/{id}")
+    public ResponseEntity<ApiResponse<PaymentRequest>> getPaymentRequest(
+        @Parameter(description = "Payment request ID", example = "5f0c6c1e-8f7b-4c86-9d55-0e6b4b0f6a1d")
+        @PathVariable String id
+    ) {
+        try {
+            return ResponseEntity.ok(
+                ApiResponse.success("Payment request retrieved successfully", paymentRequestService.getRequest(id))
+            );
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    @Operation(
+        summary = "Pay a payment request",
+        description = "Debits the payer and credits the recipient atomically. "
+            + "Fails if the request has expired, is already paid, or the payer lacks points or daily transfer allowance"
+    )
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "200",
+            description = "Payment request paid",
+            content = @Content(
+                mediaType = "application/json",
+                examples = @ExampleObject(
+                    name = "Paid Request",
+                    summary = "Example of a settled payment request",
+                    value = """
+                        {
+                          "status": "success",
+                          "message": "Payment request paid successfully",
+                          "data": {
+                            "id": "5f0c6c1e-8f7b-4c86-9d55-0e6b4b0f6a1d",
+                            "recipientId": 1,
+                            "payerId": 2,
+                            "amount": 250,
+                            "memo": "Lunch",
+                            "status": "PAID",
+                            "createdAt": "2024-01-15T15:45:30",
+                            "expiresAt": "2024-01-15T15:50:30",
+                            "completedAt": "2024-01-15T15:46:02",
+                            "qrPayload": "lbkpoints://pay?request=5f0c6c1e-8f7b-4c86-9d55-0e6b4b0f6a1d&recipient=1&amount=250&expiry=1705333830"
+                          }
+                        }
+                        """
+                )
+            )
+        ),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "400",
+            description = "Request expired or already paid, or the payment was rejected",
+            content = @Content(
+                mediaType = "application/json",
+                examples = @ExampleObject(
+                    name = "Expired",
+                    summary = "Example when the QR code has expired",
+                    value = """
+                        {
+                          "status": "error",
+                          "message": "Payment request has expired",
+                          "data": null
+                        }
+                        """
+                )
+            )
+        ),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "404",
+            description = "Payment request or payer not found"
+        )
+    })
+    @PostMapping("/{id}/pay")
+    public ResponseEntity<ApiResponse<PaymentRequest>> payPaymentRequest(
+        @Parameter(description = "Payment request ID", example = "5f0c6c1e-8f7b-4c86-9d55-0e6b4b0f6a1d")
+        @PathVariable String id,
+        @Valid @RequestBody PayPaymentRequest request
+    ) {
+        try {
+            return ResponseEntity.ok(
+                ApiResponse.success("Payment request paid successfully", paymentRequestService.pay(id, request.getPayerId()))
+            );
+        } catch (RuntimeException e) {
+            if (e.getMessage() != null && e.getMessage().contains("not found")) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(ApiResponse.error(e.getMessage()));
+            }
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+}
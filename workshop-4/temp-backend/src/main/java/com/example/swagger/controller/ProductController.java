@@ -0,0 +1,167 @@
+package com.example.swagger.controller;
+
+import com.example.swagger.dto.ApiResponse;
+import com.example.swagger.dto.CatalogItem;
+import com.example.swagger.model.Product;
+import com.example.swagger.service.CatalogService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.ExampleObject;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/products")
+@Tag(name = "Catalog", description = "Products that can be redeemed with points")
+public class ProductController {
+
+    @Autowired
+    private CatalogService catalogService;
+
+    @Operation(
+        summary = "List the catalog",
+        description = "Returns all active products. Served from memory; stock is live"
+    )
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "200",
+            description = "Catalog retrieved successfully",
+            content = @Content(
+                mediaType = "application/json",
+                examples = @ExampleObject(
+                    name = "Catalog",
+                    summary = "Example of the product catalog",
+                    value = """
+                        {
+                          "status": "success",
+                          "message": "Catalog retrieved successfully",
+                          "data": [
+                            {
+                              "id": 10,
+                              "name": "กาแฟเย็น",
+                              "description": "Iced coffee, 16 oz",
+                              "pricePoints": 120,
+                              "imageUrl": "https://cdn.example.com/products/10.jpg",
+                              "stock": 25
+                            }
+                          ]
+                        }
+                        """
+                )
+            )
+        )
+    })
+    @GetMapping
+    public ResponseEntity<ApiResponse<List<CatalogItem>>> getCatalog() {
+        return ResponseEntity.ok(
+            ApiResponse.success("Catalog retrieved successfully", catalogService.getCatalog())
+        );
+    }
+
+    @Operation(
+        summary = "Get a product",
+        description = "Returns an active product from the catalog"
+    )
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Product found"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Product not found or inactive")
+    })
+    @GetMapping("/{id}")
+    public ResponseEntity<ApiResponse<CatalogItem>> getProduct(
+        @Parameter(description = "Product ID", example = "10")
+        @PathVariable Long id
+    ) {
+        return catalogService.getProduct(id)
+            .map(product -> ResponseEntity.ok(ApiResponse.success("Product found", product)))
+            .orElse(ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(ApiResponse.error("Product not found with id: " + id)));
+    }
+
+    @Operation(
+        summary = "Create a product",
+        description = "Adds a product to the catalog. Leave stock empty for products that are not stock-tracked"
+    )
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "201", description = "Product created"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid product data")
+    })
+    @PostMapping
+    public ResponseEntity<ApiResponse<Product>> createProduct(
+        @Valid @RequestBody Product product
+    ) {
+        try {
+            return ResponseEntity.status(HttpStatus.CREATED)
+                .body(ApiResponse.success("Product created successfully", catalogService.createProduct(product)));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    @Operation(
+        summary = "Update a product",
+        description = "Updates name, description, price, image and active flag. Stock is changed through restock only"
+    )
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Product updated"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Product not found")
+    })
+    @PutMapping("/{id}")
+    public ResponseEntity<ApiResponse<Product>> updateProduct(
+        @Parameter(description = "Product ID", example = "10")
+        @PathVariable Long id,
+        @Valid @RequestBody Product productDetails
+    ) {
+        try {
+            return ResponseEntity.ok(
+                ApiResponse.success("Product updated successfully", catalogService.updateProduct(id, productDetails))
+            );
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    @Operation(
+        summary = "Restock a product",
+        description = "Adds units to a stock-tracked product"
+    )
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Product restocked"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid quantity or product not stock-tracked"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Product not found")
+    })
+    @PostMapping("/{id}/stock")
+    public ResponseEntity<ApiResponse<CatalogItem>> restock(
+        @Parameter(description = "Product ID", example = "10")
+        @PathVariable Long id,
+        @Parameter(description = "Units to add", example = "50")
+        @RequestParam Integer quantity
+    ) {
+        try {
+            catalogService.restock(id, quantity);
+            return ResponseEntity.ok(
+                ApiResponse.success("Product restocked successfully", catalogService.getProduct(id).orElse(null))
+            );
+        } catch (RuntimeException e) {
+            HttpStatus status = e.getMessage().contains("not found") ? HttpStatus.NOT_FOUND : HttpStatus.BAD_REQUEST;
+            return ResponseEntity.status(status)
+                .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+}
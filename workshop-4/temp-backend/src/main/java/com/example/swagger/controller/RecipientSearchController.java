@@ -0,0 +1,99 @@
+package com.example.swagger.controller;
+
+import com.example.swagger.cache.RecipientSearchIndex;
+import com.example.swagger.dto.ApiResponse;
+import com.example.swagger.dto.RecipientMatch;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.ExampleObject;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/users")
+@Tag(name = "Recipient Search", description = "Type-ahead search for transfer recipients")
+public class RecipientSearchController {
+
+    @Autowired
+    private RecipientSearchIndex recipientSearchIndex;
+
+    @Operation(
+        summary = "Search transfer recipients",
+        description = "Matches the query anywhere in a user's name, email or phone number (digits only, so "
+            + "'081-234' and '081234' are the same). Results are ranked: whole-field matches first, then matches at "
+            + "the start of a name, email or phone number, then matches anywhere. Contact details are masked"
+    )
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "200",
+            description = "Matches found (possibly none)",
+            content = @Content(
+                mediaType = "application/json",
+                examples = @ExampleObject(
+                    name = "Matches",
+                    summary = "Example of a name search",
+                    value = """
+                        {
+                          "status": "success",
+                          "message": "Found 1 recipients",
+                          "data": [
+                            {
+                              "userId": 1,
+                              "firstName": "สมชาย",
+                              "lastName": "ใจดี",
+                              "maskedPhone": "xxxxxx5678",
+                              "maskedEmail": "so***@example.com"
+                            }
+                          ]
+                        }
+                        """
+                )
+            )
+        ),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "400",
+            description = "Query too short or limit out of range",
+            content = @Content(
+                mediaType = "application/json",
+                examples = @ExampleObject(
+                    name = "Query Too Short",
+                    summary = "Example of a query below the minimum length",
+                    value = """
+                        {
+                          "status": "error",
+                          "message": "Query must be at least 3 characters",
+                          "data": null
+                        }
+                        """
+                )
+            )
+        )
+    })
+    @GetMapping("/search")
+    public ResponseEntity<ApiResponse<List<RecipientMatch>>> search(
+        @Parameter(description = "Part of a name, email or phone number", example = "สมชาย")
+        @RequestParam String q,
+        @Parameter(description = "Maximum number of matches", example = "10")
+        @RequestParam(defaultValue = "10") int limit,
+        @Parameter(description = "User doing the search, left out of the results", example = "2")
+        @RequestParam(required = false) Long excludeUserId
+    ) {
+        try {
+            List<RecipientMatch> matches = recipientSearchIndex.search(q, limit, excludeUserId);
+            return ResponseEntity.ok(ApiResponse.success("Found " + matches.size() + " recipients", matches));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+}
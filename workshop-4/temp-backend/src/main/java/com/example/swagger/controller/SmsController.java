@@ -0,0 +1,160 @@
+package com.example.swagger.controller;
+
+import com.example.swagger.dto.ApiResponse;
+import com.example.swagger.dto.SmsStatusCallback;
+import com.example.swagger.model.SmsReceipt;
+import com.example.swagger.service.SmsReceiptService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.ExampleObject;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.annotation.PostConstruct;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.List;
+
+@RestController
+@RequestMapping("/sms")
+@Tag(name = "SMS Receipts", description = "Order receipt delivery status and provider callbacks")
+public class SmsController {
+
+    @Autowired
+    private SmsReceiptService smsReceiptService;
+
+    // Without a token the webhook rejects every call, since a forged FAILED report would trigger a paid resend
+    @Value("${app.sms.webhook-token:}")
+    private String webhookToken;
+
+    @Value("${app.sms.provider:local}")
+    private String provider;
+
+    @PostConstruct
+    public void checkWebhookToken() {
+        if (webhookToken.isEmpty() && !"local".equals(provider)) {
+            throw new IllegalStateException("app.sms.webhook-token must be set when app.sms.provider is " + provider);
+        }
+    }
+
+    @Operation(
+        summary = "List SMS receipts for an order",
+        description = "Returns every receipt queued for the order with its delivery status"
+    )
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "200",
+            description = "Receipts retrieved successfully",
+            content = @Content(
+                mediaType = "application/json",
+                examples = @ExampleObject(
+                    name = "Receipts",
+                    summary = "Example of a delivered receipt",
+                    value = """
+                        {
+                          "status": "success",
+                          "message": "Receipts retrieved successfully",
+                          "data": [
+                            {
+                              "id": 7,
+                              "orderId": 1001,
+                              "phone": "0812345678",
+                              "message": "LBK Points: order #1001 paid, 240 points. Balance 760 points. Receipt: http://localhost:3000/orders/1001",
+                              "status": "DELIVERED",
+                              "attempts": 1,
+                              "nextAttemptAt": "2024-01-15T15:45:30",
+                              "providerMessageId": "local-3f6c1d2e",
+                              "lastError": null,
+                              "createdAt": "2024-01-15T15:45:30",
+                              "updatedAt": "2024-01-15T15:45:33"
+                            }
+                          ]
+                        }
+                        """
+                )
+            )
+        )
+    })
+    @GetMapping("/receipts")
+    public ResponseEntity<ApiResponse<List<SmsReceipt>>> getReceiptsForOrder(
+        @Parameter(description = "Order ID", example = "1001")
+        @RequestParam Long orderId
+    ) {
+        return ResponseEntity.ok(
+            ApiResponse.success("Receipts retrieved successfully", smsReceiptService.getReceiptsForOrder(orderId))
+        );
+    }
+
+    @Operation(
+        summary = "Re-queue a dead receipt",
+        description = "Moves a receipt that exhausted its retries back to PENDING with a fresh attempt budget"
+    )
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Receipt re-queued"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Receipt is not DEAD"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Receipt not found")
+    })
+    @PostMapping("/receipts/{id}/retry")
+    public ResponseEntity<ApiResponse<SmsReceipt>> retryReceipt(
+        @Parameter(description = "Receipt ID", example = "7")
+        @PathVariable Long id
+    ) {
+        try {
+            return ResponseEntity.ok(
+                ApiResponse.success("Receipt re-queued successfully", smsReceiptService.retryDead(id))
+            );
+        } catch (RuntimeException e) {
+            HttpStatus status = e.getMessage().contains("not found") ? HttpStatus.NOT_FOUND : HttpStatus.BAD_REQUEST;
+            return ResponseEntity.status(status)
+                .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    @Operation(
+        summary = "SMS delivery-status webhook",
+        description = "Called by the SMS provider with a delivery report. DELIVERED completes the receipt; "
+            + "FAILED schedules another attempt with backoff, or marks it DEAD once attempts run out. "
+            + "Repeated or late reports are ignored"
+    )
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Report applied"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Unsupported status"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "401", description = "Missing or wrong webhook token, or none configured"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Unknown provider message ID")
+    })
+    @PostMapping("/webhook/status")
+    public ResponseEntity<ApiResponse<SmsReceipt>> handleStatusCallback(
+        @Parameter(description = "Shared secret configured with the provider")
+        @RequestHeader(value = "X-Webhook-Token", required = false) String token,
+        @Valid @RequestBody SmsStatusCallback callback
+    ) {
+        if (webhookToken.isEmpty() || token == null || !MessageDigest.isEqual(
+                webhookToken.getBytes(StandardCharsets.UTF_8), token.getBytes(StandardCharsets.UTF_8))) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                .body(ApiResponse.error("Invalid webhook token"));
+        }
+        try {
+            SmsReceipt receipt = smsReceiptService.handleStatusCallback(
+                callback.getProviderMessageId(), callback.getStatus(), callback.getError());
+            return ResponseEntity.ok(ApiResponse.success("Delivery status recorded", receipt));
+        } catch (RuntimeException e) {
+            HttpStatus status = e.getMessage().contains("not found") ? HttpStatus.NOT_FOUND : HttpStatus.BAD_REQUEST;
+            return ResponseEntity.status(status)
+                .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+}
@@ -1,7 +1,18 @@
 package com.example.swagger.controller;
 
+import com.example.swagger.cache.BalanceIndex;
+import com.example.swagger.cache.UserResponseCache;
 import com.example.swagger.dto.ApiResponse;
+import com.example.swagger.dto.BalanceEvent;
+import com.example.swagger.dto.BatchCreateUsersRequest;
+import com.example.swagger.dto.BatchGetRequest;
+import com.example.swagger.dto.BatchGetResult;
+import com.example.swagger.dto.BatchPointsRequest;
+import com.example.swagger.dto.PointsAdjustmentResult;
 import com.example.swagger.model.User;
+import com.example.swagger.service.AsyncPointsService;
+import com.example.swagger.service.AsyncPointsService.QueuedMutation;
+import com.example.swagger.service.BalanceEventHub;
 import com.example.swagger.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -10,14 +21,29 @@ import io.swagger.v3.oas.annotations.media.ExampleObject;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/users")
@@ -27,6 +53,24 @@ public class UserController {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private UserResponseCache userResponseCache;
+
+    @Autowired
+    private BalanceIndex balanceIndex;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private AsyncPointsService asyncPointsService;
+
+    @Autowired
+    private BalanceEventHub balanceEventHub;
+
+    @Value("${app.points.async-timeout-ms:5000}")
+    private long asyncTimeoutMs;
+
     @Operation(
         summary = "Get all users",
         description = "Retrieve a list of all users from the SQLite database"
@@ -138,16 +182,25 @@ public class UserController {
             example = "1",
             required = true
         )
-        @PathVariable Long id
+        @PathVariable Long id,
+        HttpServletResponse response
     ) {
         try {
-            Optional<User> user = userService.getUserById(id);
-            if (user.isPresent()) {
-                return ResponseEntity.ok(ApiResponse.success("User found", user.get()));
-            } else {
-                return ResponseEntity.status(HttpStatus.NOT_FOUND)
-                    .body(ApiResponse.error("User not found with ID: " + id));
+            // Hot path: cached bytes go straight to the output stream without touching Jackson
+            byte[] body = userResponseCache.get(id, MediaType.APPLICATION_JSON_VALUE);
+            if (body == null) {
+                long stamp = userResponseCache.stamp(id);
+                Optional<User> user = userService.getUserById(id);
+                if (user.isEmpty()) {
+                    return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .body(ApiResponse.error("User not found with ID: " + id));
+                }
+                body = objectMapper.writeValueAsBytes(ApiResponse.success("User found", user.get()));
+                userResponseCache.put(id, MediaType.APPLICATION_JSON_VALUE, stamp, user.get().getUpdatedAt(), body);
             }
+            writeJson(response, body);
+            // Returning null tells Spring MVC the response has already been written
+            return null;
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                 .body(ApiResponse.error("Failed to retrieve user: " + e.getMessage()));
@@ -424,6 +477,53 @@ public class UserController {
         }
     }
 
+    @Operation(
+        summary = "Get user's points balance",
+        description = "Current points from the in-memory balance index; no entity is loaded and the body is written directly"
+    )
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "200",
+            description = "Balance found",
+            content = @Content(
+                mediaType = "application/json",
+                examples = @ExampleObject(
+                    name = "Balance",
+                    summary = "Example of a balance lookup",
+                    value = """
+                        {
+                          "status": "success",
+                          "message": "Balance retrieved",
+                          "data": {
+                            "userId": 1,
+                            "points": 1500
+                          }
+                        }
+                        """
+                )
+            )
+        ),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "404",
+            description = "User not found"
+        )
+    })
+    @GetMapping("/{id}/points")
+    public ResponseEntity<ApiResponse<Void>> getPoints(
+        @Parameter(description = "User ID", example = "1")
+        @PathVariable Long id,
+        HttpServletResponse response
+    ) throws IOException {
+        int points = balanceIndex.get(id);
+        if (points == BalanceIndex.NOT_FOUND) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(ApiResponse.error("User not found with ID: " + id));
+        }
+        writeJson(response, ("{\"status\":\"success\",\"message\":\"Balance retrieved\",\"data\":{\"userId\":"
+            + id + ",\"points\":" + points + "}}").getBytes(StandardCharsets.US_ASCII));
+        return null;
+    }
+
     // Additional endpoints for points management
     @Operation(
         summary = "Add points to user",
@@ -468,4 +568,356 @@ public class UserController {
                 .body(ApiResponse.error(e.getMessage()));
         }
     }
+
+    // Asynchronous variants: the mutation runs on the bounded write executor and the request thread is released
+    @Operation(
+        summary = "Add points to user (async)",
+        description = "Queue a points addition on the write executor; returns 503 when the queue is full or the update "
+            + "timed out before it started, and 202 when it timed out while running and may still be applied"
+    )
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "202",
+            description = "The update timed out while running; its outcome is unknown, so check the balance instead of retrying"
+        ),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "503",
+            description = "Write queue is full or the update timed out before it started",
+            content = @Content(
+                mediaType = "application/json",
+                examples = @ExampleObject(
+                    name = "Queue Full",
+                    summary = "Example when the write queue is full",
+                    value = """
+                        {
+                          "status": "error",
+                          "message": "Points write queue is full, please retry later",
+                          "data": null
+                        }
+                        """
+                )
+            )
+        )
+    })
+    @PostMapping("/{id}/points/add/async")
+    public DeferredResult<ResponseEntity<ApiResponse<User>>> addPointsAsync(
+        @Parameter(description = "User ID", example = "1")
+        @PathVariable Long id,
+        @Parameter(description = "Points to add", example = "100")
+        @RequestParam Integer points
+    ) {
+        return deferPointsMutation(
+            () -> asyncPointsService.addPoints(id, points),
+            "Points added successfully",
+            HttpStatus.NOT_FOUND
+        );
+    }
+
+    @Operation(
+        summary = "Deduct points from user (async)",
+        description = "Queue a points deduction on the write executor; returns 503 when the queue is full or the update "
+            + "timed out before it started, and 202 when it timed out while running and may still be applied"
+    )
+    @PostMapping("/{id}/points/deduct/async")
+    public DeferredResult<ResponseEntity<ApiResponse<User>>> deductPointsAsync(
+        @Parameter(description = "User ID", example = "1")
+        @PathVariable Long id,
+        @Parameter(description = "Points to deduct", example = "50")
+        @RequestParam Integer points
+    ) {
+        return deferPointsMutation(
+            () -> asyncPointsService.deductPoints(id, points),
+            "Points deducted successfully",
+            HttpStatus.BAD_REQUEST
+        );
+    }
+
+    @Operation(
+        summary = "Stream balance changes",
+        description = "Server-Sent Events stream of the user's balance and tier. Sends the current state on connect "
+            + "(skipped when Last-Event-ID matches it), then the latest value after each change; rapid changes are coalesced"
+    )
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "200",
+            description = "Event stream opened",
+            content = @Content(
+                mediaType = "text/event-stream",
+                examples = @ExampleObject(
+                    name = "Balance Event",
+                    summary = "Example balance event",
+                    value = """
+                        id:1705307130000
+                        event:balance
+                        data:{"userId":1,"points":1500,"membershipLevel":"GOLD","updatedAt":"2024-01-15T10:30:00"}
+                        """
+                )
+            )
+        ),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "User not found"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "503", description = "Subscriber limit reached")
+    })
+    @GetMapping(value = "/{id}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamBalanceEvents(
+        @Parameter(description = "User ID", example = "1")
+        @PathVariable Long id,
+        @Parameter(description = "ID of the last event received, sent by EventSource on reconnect")
+        @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId
+    ) {
+        try {
+            SseEmitter emitter = balanceEventHub.subscribe(id, lastEventId,
+                () -> userService.getUserById(id).map(BalanceEvent::from));
+            return ResponseEntity.ok(emitter);
+        } catch (RuntimeException e) {
+            if (e.getMessage() != null && e.getMessage().contains("not found")) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+            }
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+    }
+
+    // Batch endpoints for POS and campaign systems
+    @Operation(
+        summary = "Get users by IDs",
+        description = "Resolve many users with a single database query; results keep the requested order"
+    )
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "200",
+            description = "Users resolved",
+            content = @Content(
+                mediaType = "application/json",
+                examples = @ExampleObject(
+                    name = "Batch Get",
+                    summary = "Example with one unknown ID",
+                    value = """
+                        {
+                          "status": "success",
+                          "message": "Resolved 1 of 2 users",
+                          "data": {
+                            "users": [
+                              {
+                                "id": 1,
+                                "firstName": "สมชาย",
+                                "lastName": "ใจดี",
+                                "phone": "081-234-5678",
+                                "email": "somchai@example.com",
+                                "memberSince": "2024-01-15T10:30:00",
+                                "membershipLevel": "GOLD",
+                                "points": 1500,
+                                "createdAt": "2024-01-15T10:30:00",
+                                "updatedAt": "2024-01-15T10:30:00"
+                              }
+                            ],
+                            "notFoundIds": [999]
+                          }
+                        }
+                        """
+                )
+            )
+        )
+    })
+    @PostMapping("/batch-get")
+    public ResponseEntity<ApiResponse<BatchGetResult>> getUsersByIds(
+        @Valid @RequestBody BatchGetRequest request
+    ) {
+        try {
+            List<User> users = userService.getUsersByIds(request.getIds());
+            Set<Long> foundIds = users.stream().map(User::getId).collect(Collectors.toSet());
+            List<Long> notFoundIds = request.getIds().stream()
+                .filter(id -> !foundIds.contains(id))
+                .distinct()
+                .collect(Collectors.toList());
+            return ResponseEntity.ok(ApiResponse.success(
+                "Resolved " + foundIds.size() + " of " + new HashSet<>(request.getIds()).size() + " users",
+                new BatchGetResult(users, notFoundIds)
+            ));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    @Operation(
+        summary = "Create many users",
+        description = "Create users in one transaction, for imports and seeding; a taken or repeated email rejects the whole batch"
+    )
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "201",
+            description = "Users created successfully",
+            content = @Content(
+                mediaType = "application/json",
+                examples = @ExampleObject(
+                    name = "Users Created",
+                    summary = "Example of a created batch",
+                    value = """
+                        {
+                          "status": "success",
+                          "message": "Created 2 users",
+                          "data": [
+                            {
+                              "id": 1,
+                              "firstName": "สมชาย",
+                              "lastName": "ใจดี",
+                              "phone": "081-234-5678",
+                              "email": "somchai@example.com",
+                              "memberSince": "2024-01-15T10:30:00",
+                              "membershipLevel": "BRONZE",
+                              "points": 0,
+                              "createdAt": "2024-01-15T10:30:00",
+                              "updatedAt": "2024-01-15T10:30:00"
+                            },
+                            {
+                              "id": 2,
+                              "firstName": "สมศรี",
+                              "lastName": "สุขใจ",
+                              "phone": null,
+                              "email": "somsri@example.com",
+                              "memberSince": "2024-01-15T10:30:00",
+                              "membershipLevel": "BRONZE",
+                              "points": 0,
+                              "createdAt": "2024-01-15T10:30:00",
+                              "updatedAt": "2024-01-15T10:30:00"
+                            }
+                          ]
+                        }
+                        """
+                )
+            )
+        ),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "400",
+            description = "Invalid input data, batch too large or email already exists",
+            content = @Content(
+                mediaType = "application/json",
+                examples = @ExampleObject(
+                    name = "Email Taken",
+                    summary = "Example when one email is already registered",
+                    value = """
+                        {
+                          "status": "error",
+                          "message": "Email already exists: somchai@example.com",
+                          "data": null
+                        }
+                        """
+                )
+            )
+        )
+    })
+    @PostMapping("/batch")
+    public ResponseEntity<ApiResponse<List<User>>> createUsers(
+        @Valid @RequestBody BatchCreateUsersRequest request
+    ) {
+        try {
+            List<User> createdUsers = userService.createUsers(request.getUsers());
+            return ResponseEntity.status(HttpStatus.CREATED)
+                .body(ApiResponse.success("Created " + createdUsers.size() + " users", createdUsers));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    @Operation(
+        summary = "Adjust points for many users",
+        description = "Apply signed points adjustments in one transaction; missing users and insufficient balances are reported per item"
+    )
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "200",
+            description = "Batch processed",
+            content = @Content(
+                mediaType = "application/json",
+                examples = @ExampleObject(
+                    name = "Batch Adjustments",
+                    summary = "Example with one failed item",
+                    value = """
+                        {
+                          "status": "success",
+                          "message": "Applied 1 of 2 adjustments",
+                          "data": [
+                            {
+                              "userId": 1,
+                              "points": 100,
+                              "status": "applied",
+                              "message": null,
+                              "balance": 1600
+                            },
+                            {
+                              "userId": 2,
+                              "points": -500,
+                              "status": "failed",
+                              "message": "Insufficient points. Current balance: 20",
+                              "balance": 20
+                            }
+                          ]
+                        }
+                        """
+                )
+            )
+        )
+    })
+    @PostMapping("/points/batch")
+    public ResponseEntity<ApiResponse<List<PointsAdjustmentResult>>> adjustPointsBatch(
+        @Valid @RequestBody BatchPointsRequest request
+    ) {
+        try {
+            List<PointsAdjustmentResult> results = userService.adjustPointsBatch(request.getAdjustments());
+            long applied = results.stream().filter(result -> "applied".equals(result.getStatus())).count();
+            return ResponseEntity.ok(ApiResponse.success(
+                "Applied " + applied + " of " + results.size() + " adjustments", results
+            ));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    // Maps the async outcome onto the same responses as the synchronous endpoints
+    private DeferredResult<ResponseEntity<ApiResponse<User>>> deferPointsMutation(
+        Supplier<QueuedMutation> mutation,
+        String successMessage,
+        HttpStatus failureStatus
+    ) {
+        DeferredResult<ResponseEntity<ApiResponse<User>>> result = new DeferredResult<>(asyncTimeoutMs);
+        QueuedMutation queued;
+        try {
+            queued = mutation.get();
+        } catch (RejectedExecutionException e) {
+            result.setResult(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body(ApiResponse.error("Points write queue is full, please retry later")));
+            return result;
+        }
+
+        // Only a mutation that never started is safe to retry; one already running may still commit
+        result.onTimeout(() -> {
+            if (queued.cancelIfNotStarted()) {
+                result.setResult(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(ApiResponse.error("Points update timed out before it started, please retry later")));
+            } else {
+                result.setResult(ResponseEntity.status(HttpStatus.ACCEPTED)
+                    .body(ApiResponse.success(
+                        "Points update is still in progress; check the balance instead of retrying", null)));
+            }
+        });
+        queued.result().whenComplete((updatedUser, error) -> {
+            if (error == null) {
+                result.setResult(ResponseEntity.ok(ApiResponse.success(successMessage, updatedUser)));
+            } else if (!(error instanceof CancellationException)) {
+                Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+                result.setResult(ResponseEntity.status(failureStatus)
+                    .body(ApiResponse.error(cause.getMessage())));
+            }
+        });
+        return result;
+    }
+
+    private void writeJson(HttpServletResponse response, byte[] body) throws IOException {
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+        response.flushBuffer();
+    }
 }
\ No newline at end of file
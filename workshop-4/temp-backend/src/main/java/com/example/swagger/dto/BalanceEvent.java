@@ -0,0 +1,69 @@
+package com.example.swagger.dto;
+
+import com.example.swagger.model.User;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+
+@Schema(description = "Balance and tier snapshot pushed on the user's event stream")
+public class BalanceEvent {
+
+    @Schema(description = "User ID", example = "1")
+    private Long userId;
+
+    @Schema(description = "Current points balance", example = "1500")
+    private Integer points;
+
+    @Schema(description = "Current membership level", example = "GOLD")
+    private User.MembershipLevel membershipLevel;
+
+    @Schema(description = "Time of the change", example = "2024-01-15T15:45:30")
+    private LocalDateTime updatedAt;
+
+    // Constructors
+    public BalanceEvent() {}
+
+    public BalanceEvent(Long userId, Integer points, User.MembershipLevel membershipLevel, LocalDateTime updatedAt) {
+        this.userId = userId;
+        this.points = points;
+        this.membershipLevel = membershipLevel;
+        this.updatedAt = updatedAt;
+    }
+
+    public static BalanceEvent from(User user) {
+        return new BalanceEvent(user.getId(), user.getPoints(), user.getMembershipLevel(), user.getUpdatedAt());
+    }
+
+    // Getters and Setters
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public Integer getPoints() {
+        return points;
+    }
+
+    public void setPoints(Integer points) {
+        this.points = points;
+    }
+
+    public User.MembershipLevel getMembershipLevel() {
+        return membershipLevel;
+    }
+
+    public void setMembershipLevel(User.MembershipLevel membershipLevel) {
+        this.membershipLevel = membershipLevel;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.swagger.dto;
+
+import com.example.swagger.model.User;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+
+import java.util.List;
+
+@Schema(description = "Users created together in one transaction")
+public class BatchCreateUsersRequest {
+
+    @Schema(description = "Users to create, validated like single signups", required = true)
+    @NotEmpty
+    @Valid
+    private List<User> users;
+
+    // Constructors
+    public BatchCreateUsersRequest() {}
+
+    public BatchCreateUsersRequest(List<User> users) {
+        this.users = users;
+    }
+
+    // Getters and Setters
+    public List<User> getUsers() {
+        return users;
+    }
+
+    public void setUsers(List<User> users) {
+        this.users = users;
+    }
+}
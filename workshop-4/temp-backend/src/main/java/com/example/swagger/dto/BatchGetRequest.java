@@ -0,0 +1,34 @@
+package com.example.swagger.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+
+import java.util.List;
+
+@Schema(description = "List of user IDs to resolve in one call")
+public class BatchGetRequest {
+
+    @Schema(
+        description = "User IDs; the response keeps this order",
+        example = "[3, 1, 2]",
+        required = true
+    )
+    @NotEmpty
+    private List<Long> ids;
+
+    // Constructors
+    public BatchGetRequest() {}
+
+    public BatchGetRequest(List<Long> ids) {
+        this.ids = ids;
+    }
+
+    // Getters and Setters
+    public List<Long> getIds() {
+        return ids;
+    }
+
+    public void setIds(List<Long> ids) {
+        this.ids = ids;
+    }
+}
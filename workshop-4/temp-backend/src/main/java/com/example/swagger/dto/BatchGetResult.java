@@ -0,0 +1,41 @@
+package com.example.swagger.dto;
+
+import com.example.swagger.model.User;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Users resolved by a batch lookup")
+public class BatchGetResult {
+
+    @Schema(description = "Users found, in the order their IDs were requested")
+    private List<User> users;
+
+    @Schema(description = "Requested IDs that do not exist", example = "[999]")
+    private List<Long> notFoundIds;
+
+    // Constructors
+    public BatchGetResult() {}
+
+    public BatchGetResult(List<User> users, List<Long> notFoundIds) {
+        this.users = users;
+        this.notFoundIds = notFoundIds;
+    }
+
+    // Getters and Setters
+    public List<User> getUsers() {
+        return users;
+    }
+
+    public void setUsers(List<User> users) {
+        this.users = users;
+    }
+
+    public List<Long> getNotFoundIds() {
+        return notFoundIds;
+    }
+
+    public void setNotFoundIds(List<Long> notFoundIds) {
+        this.notFoundIds = notFoundIds;
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.swagger.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+
+import java.util.List;
+
+@Schema(description = "Points adjustments applied together in one transaction")
+public class BatchPointsRequest {
+
+    @Schema(description = "Adjustments, applied in order", required = true)
+    @NotEmpty
+    @Valid
+    private List<PointsAdjustment> adjustments;
+
+    // Constructors
+    public BatchPointsRequest() {}
+
+    public BatchPointsRequest(List<PointsAdjustment> adjustments) {
+        this.adjustments = adjustments;
+    }
+
+    // Getters and Setters
+    public List<PointsAdjustment> getAdjustments() {
+        return adjustments;
+    }
+
+    public void setAdjustments(List<PointsAdjustment> adjustments) {
+        this.adjustments = adjustments;
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.swagger.dto;
+
+import com.example.swagger.model.Product;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Immutable catalog entry served from the in-memory catalog snapshot.
+ * Stock is read live from the product's reservation counter, so it stays current without rebuilding the snapshot.
+ */
+@Schema(description = "Product as listed in the catalog")
+public class CatalogItem {
+
+    @Schema(description = "Product ID", example = "10")
+    private final Long id;
+
+    @Schema(description = "Product name", example = "กาแฟเย็น")
+    private final String name;
+
+    @Schema(description = "Product description", example = "Iced coffee, 16 oz")
+    private final String description;
+
+    @Schema(description = "Price in points", example = "120")
+    private final Integer pricePoints;
+
+    @Schema(description = "Product image URL", example = "https://cdn.example.com/products/10.jpg")
+    private final String imageUrl;
+
+    private final AtomicInteger stockCounter;
+
+    // Constructors
+    public CatalogItem(Product product, AtomicInteger stockCounter) {
+        this.id = product.getId();
+        this.name = product.getName();
+        this.description = product.getDescription();
+        this.pricePoints = product.getPricePoints();
+        this.imageUrl = product.getImageUrl();
+        this.stockCounter = stockCounter;
+    }
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public Integer getPricePoints() {
+        return pricePoints;
+    }
+
+    public String getImageUrl() {
+        return imageUrl;
+    }
+
+    @Schema(description = "Units available; null when stock is not tracked", example = "25")
+    public Integer getStock() {
+        return stockCounter != null ? stockCounter.get() : null;
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.swagger.dto;
+
+import com.example.swagger.model.UserChange;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "A batch of user changes read from the change log")
+public class ChangeFeed {
+
+    @Schema(description = "Changes ordered by offset")
+    private List<UserChange> changes;
+
+    @Schema(description = "Offset to pass as 'after' on the next call", example = "142")
+    private Long nextOffset;
+
+    @Schema(description = "Whether more changes were available when this batch was read", example = "true")
+    private boolean hasMore;
+
+    // Constructors
+    public ChangeFeed() {}
+
+    public ChangeFeed(List<UserChange> changes, Long nextOffset, boolean hasMore) {
+        this.changes = changes;
+        this.nextOffset = nextOffset;
+        this.hasMore = hasMore;
+    }
+
+    // Getters and Setters
+    public List<UserChange> getChanges() {
+        return changes;
+    }
+
+    public void setChanges(List<UserChange> changes) {
+        this.changes = changes;
+    }
+
+    public Long getNextOffset() {
+        return nextOffset;
+    }
+
+    public void setNextOffset(Long nextOffset) {
+        this.nextOffset = nextOffset;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+}
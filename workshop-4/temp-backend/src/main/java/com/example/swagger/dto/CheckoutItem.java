@@ -0,0 +1,43 @@
+package com.example.swagger.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+@Schema(description = "Cart line to check out")
+public class CheckoutItem {
+
+    @Schema(description = "Product ID", example = "10", required = true)
+    @NotNull
+    private Long productId;
+
+    @Schema(description = "Quantity", example = "2", required = true)
+    @NotNull
+    @Min(1)
+    private Integer quantity;
+
+    // Constructors
+    public CheckoutItem() {}
+
+    public CheckoutItem(Long productId, Integer quantity) {
+        this.productId = productId;
+        this.quantity = quantity;
+    }
+
+    // Getters and Setters
+    public Long getProductId() {
+        return productId;
+    }
+
+    public void setProductId(Long productId) {
+        this.productId = productId;
+    }
+
+    public Integer getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(Integer quantity) {
+        this.quantity = quantity;
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.swagger.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+@Schema(description = "Cart contents to pay for with points")
+public class CheckoutRequest {
+
+    @Schema(description = "ID of the paying user", example = "1", required = true)
+    @NotNull
+    private Long userId;
+
+    @Schema(description = "Cart lines", required = true)
+    @NotEmpty
+    @Valid
+    private List<CheckoutItem> items;
+
+    @Schema(description = "Customer name to attach to the order", example = "สมชาย ใจดี")
+    @Size(max = 255)
+    private String customerName;
+
+    @Schema(description = "Customer phone for the SMS receipt", example = "081-234-5678")
+    @Size(max = 255)
+    private String customerPhone;
+
+    // Constructors
+    public CheckoutRequest() {}
+
+    public CheckoutRequest(Long userId, List<CheckoutItem> items, String customerName, String customerPhone) {
+        this.userId = userId;
+        this.items = items;
+        this.customerName = customerName;
+        this.customerPhone = customerPhone;
+    }
+
+    // Getters and Setters
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public List<CheckoutItem> getItems() {
+        return items;
+    }
+
+    public void setItems(List<CheckoutItem> items) {
+        this.items = items;
+    }
+
+    public String getCustomerName() {
+        return customerName;
+    }
+
+    public void setCustomerName(String customerName) {
+        this.customerName = customerName;
+    }
+
+    public String getCustomerPhone() {
+        return customerPhone;
+    }
+
+    public void setCustomerPhone(String customerPhone) {
+        this.customerPhone = customerPhone;
+    }
+}
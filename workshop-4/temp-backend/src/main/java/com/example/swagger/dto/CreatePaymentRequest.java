@@ -0,0 +1,70 @@
+package com.example.swagger.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+@Schema(description = "Request for points to be shown as a QR code")
+public class CreatePaymentRequest {
+
+    @Schema(description = "ID of the user receiving the points", example = "1", required = true)
+    @NotNull
+    private Long recipientId;
+
+    @Schema(description = "Requested points", example = "250", required = true)
+    @NotNull
+    @Min(1)
+    private Integer amount;
+
+    @Schema(description = "Optional note shown to the payer", example = "Lunch")
+    @Size(max = 255)
+    private String memo;
+
+    @Schema(description = "Seconds until the request expires; the server default is used when omitted", example = "300")
+    @Min(1)
+    private Integer expiresInSeconds;
+
+    // Constructors
+    public CreatePaymentRequest() {}
+
+    public CreatePaymentRequest(Long recipientId, Integer amount, String memo, Integer expiresInSeconds) {
+        this.recipientId = recipientId;
+        this.amount = amount;
+        this.memo = memo;
+        this.expiresInSeconds = expiresInSeconds;
+    }
+
+    // Getters and Setters
+    public Long getRecipientId() {
+        return recipientId;
+    }
+
+    public void setRecipientId(Long recipientId) {
+        this.recipientId = recipientId;
+    }
+
+    public Integer getAmount() {
+        return amount;
+    }
+
+    public void setAmount(Integer amount) {
+        this.amount = amount;
+    }
+
+    public String getMemo() {
+        return memo;
+    }
+
+    public void setMemo(String memo) {
+        this.memo = memo;
+    }
+
+    public Integer getExpiresInSeconds() {
+        return expiresInSeconds;
+    }
+
+    public void setExpiresInSeconds(Integer expiresInSeconds) {
+        this.expiresInSeconds = expiresInSeconds;
+    }
+}
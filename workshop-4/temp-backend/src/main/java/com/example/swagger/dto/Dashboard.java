@@ -0,0 +1,81 @@
+package com.example.swagger.dto;
+
+import com.example.swagger.model.PaymentRequest;
+import com.example.swagger.model.PointsLedgerEntry;
+import com.example.swagger.model.User;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+import java.util.Map;
+
+@Schema(description = "Everything the wallet dashboard renders, in one payload")
+public class Dashboard {
+
+    @Schema(description = "User profile with balance and membership tier; null if that part failed")
+    private User user;
+
+    @Schema(description = "Latest ledger entries, newest first; null if that part failed")
+    private List<PointsLedgerEntry> recentActivity;
+
+    @Schema(description = "QR payment requests still waiting to be paid; null if that part failed")
+    private List<PaymentRequest> notifications;
+
+    @Schema(description = "Whether any part is missing", example = "false")
+    private boolean partial;
+
+    @Schema(description = "Reason per missing part", example = "{\"notifications\": \"Timed out\"}")
+    private Map<String, String> errors;
+
+    // Constructors
+    public Dashboard() {}
+
+    public Dashboard(User user, List<PointsLedgerEntry> recentActivity, List<PaymentRequest> notifications,
+                     Map<String, String> errors) {
+        this.user = user;
+        this.recentActivity = recentActivity;
+        this.notifications = notifications;
+        this.partial = !errors.isEmpty();
+        this.errors = errors;
+    }
+
+    // Getters and Setters
+    public User getUser() {
+        return user;
+    }
+
+    public void setUser(User user) {
+        this.user = user;
+    }
+
+    public List<PointsLedgerEntry> getRecentActivity() {
+        return recentActivity;
+    }
+
+    public void setRecentActivity(List<PointsLedgerEntry> recentActivity) {
+        this.recentActivity = recentActivity;
+    }
+
+    public List<PaymentRequest> getNotifications() {
+        return notifications;
+    }
+
+    public void setNotifications(List<PaymentRequest> notifications) {
+        this.notifications = notifications;
+    }
+
+    public boolean isPartial() {
+        return partial;
+    }
+
+    public void setPartial(boolean partial) {
+        this.partial = partial;
+    }
+
+    public Map<String, String> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(Map<String, String> errors) {
+        this.errors = errors;
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.swagger.dto;
+
+import com.example.swagger.model.PointsLedgerEntry;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "One page of a user's points history, newest first")
+public class HistoryPage {
+
+    @Schema(description = "Ledger entries, newest first")
+    private List<PointsLedgerEntry> entries;
+
+    @Schema(description = "Cursor to pass back for the next page, null on the last page", example = "1705333530000-1001")
+    private String nextCursor;
+
+    @Schema(description = "Whether older entries exist", example = "true")
+    private boolean hasMore;
+
+    // Constructors
+    public HistoryPage() {}
+
+    public HistoryPage(List<PointsLedgerEntry> entries, String nextCursor, boolean hasMore) {
+        this.entries = entries;
+        this.nextCursor = nextCursor;
+        this.hasMore = hasMore;
+    }
+
+    // Getters and Setters
+    public List<PointsLedgerEntry> getEntries() {
+        return entries;
+    }
+
+    public void setEntries(List<PointsLedgerEntry> entries) {
+        this.entries = entries;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+}
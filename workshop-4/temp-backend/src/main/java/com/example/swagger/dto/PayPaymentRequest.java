@@ -0,0 +1,28 @@
+package com.example.swagger.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+
+@Schema(description = "Payer settling a QR payment request")
+public class PayPaymentRequest {
+
+    @Schema(description = "ID of the paying user", example = "2", required = true)
+    @NotNull
+    private Long payerId;
+
+    // Constructors
+    public PayPaymentRequest() {}
+
+    public PayPaymentRequest(Long payerId) {
+        this.payerId = payerId;
+    }
+
+    // Getters and Setters
+    public Long getPayerId() {
+        return payerId;
+    }
+
+    public void setPayerId(Long payerId) {
+        this.payerId = payerId;
+    }
+}
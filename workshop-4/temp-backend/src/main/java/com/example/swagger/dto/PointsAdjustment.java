@@ -0,0 +1,47 @@
+package com.example.swagger.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+@Schema(description = "Signed points adjustment for a single user")
+public class PointsAdjustment {
+
+    @Schema(description = "User ID", example = "1", required = true)
+    @NotNull
+    private Long userId;
+
+    @Schema(
+        description = "Points to apply; positive adds, negative deducts",
+        example = "-50",
+        required = true
+    )
+    @NotNull
+    @Min(-Integer.MAX_VALUE)
+    private Integer points;
+
+    // Constructors
+    public PointsAdjustment() {}
+
+    public PointsAdjustment(Long userId, Integer points) {
+        this.userId = userId;
+        this.points = points;
+    }
+
+    // Getters and Setters
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public Integer getPoints() {
+        return points;
+    }
+
+    public void setPoints(Integer points) {
+        this.points = points;
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.swagger.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Outcome of a single adjustment in a batch")
+public class PointsAdjustmentResult {
+
+    @Schema(description = "User ID", example = "1")
+    private Long userId;
+
+    @Schema(description = "Requested signed points", example = "-50")
+    private Integer points;
+
+    @Schema(
+        description = "Adjustment status",
+        example = "applied",
+        allowableValues = {"applied", "failed"}
+    )
+    private String status;
+
+    @Schema(description = "Failure reason, null when applied", example = "Insufficient points. Current balance: 20")
+    private String message;
+
+    @Schema(description = "Balance after the adjustment, null when the user was not found", example = "1450")
+    private Integer balance;
+
+    // Constructors
+    public PointsAdjustmentResult() {}
+
+    public PointsAdjustmentResult(Long userId, Integer points, String status, String message, Integer balance) {
+        this.userId = userId;
+        this.points = points;
+        this.status = status;
+        this.message = message;
+        this.balance = balance;
+    }
+
+    public static PointsAdjustmentResult applied(PointsAdjustment adjustment, Integer balance) {
+        return new PointsAdjustmentResult(adjustment.getUserId(), adjustment.getPoints(), "applied", null, balance);
+    }
+
+    public static PointsAdjustmentResult failed(PointsAdjustment adjustment, String message, Integer balance) {
+        return new PointsAdjustmentResult(adjustment.getUserId(), adjustment.getPoints(), "failed", message, balance);
+    }
+
+    // Getters and Setters
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public Integer getPoints() {
+        return points;
+    }
+
+    public void setPoints(Integer points) {
+        this.points = points;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    public Integer getBalance() {
+        return balance;
+    }
+
+    public void setBalance(Integer balance) {
+        this.balance = balance;
+    }
+}
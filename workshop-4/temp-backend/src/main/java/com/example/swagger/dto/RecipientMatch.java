@@ -0,0 +1,74 @@
+package com.example.swagger.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "A transfer recipient matching a search; contact details are masked")
+public class RecipientMatch {
+
+    @Schema(description = "User ID", example = "1")
+    private Long userId;
+
+    @Schema(description = "First name", example = "สมชาย")
+    private String firstName;
+
+    @Schema(description = "Last name", example = "ใจดี")
+    private String lastName;
+
+    @Schema(description = "Phone number with all but the last four digits masked", example = "xxxxxx5678")
+    private String maskedPhone;
+
+    @Schema(description = "Email with most of the local part masked", example = "so***@example.com")
+    private String maskedEmail;
+
+    // Constructors
+    public RecipientMatch() {}
+
+    public RecipientMatch(Long userId, String firstName, String lastName, String maskedPhone, String maskedEmail) {
+        this.userId = userId;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.maskedPhone = maskedPhone;
+        this.maskedEmail = maskedEmail;
+    }
+
+    // Getters and Setters
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public String getFirstName() {
+        return firstName;
+    }
+
+    public void setFirstName(String firstName) {
+        this.firstName = firstName;
+    }
+
+    public String getLastName() {
+        return lastName;
+    }
+
+    public void setLastName(String lastName) {
+        this.lastName = lastName;
+    }
+
+    public String getMaskedPhone() {
+        return maskedPhone;
+    }
+
+    public void setMaskedPhone(String maskedPhone) {
+        this.maskedPhone = maskedPhone;
+    }
+
+    public String getMaskedEmail() {
+        return maskedEmail;
+    }
+
+    public void setMaskedEmail(String maskedEmail) {
+        this.maskedEmail = maskedEmail;
+    }
+}
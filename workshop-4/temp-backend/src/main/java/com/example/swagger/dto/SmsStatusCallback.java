@@ -0,0 +1,53 @@
+package com.example.swagger.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+
+@Schema(description = "Delivery report posted by the SMS provider")
+public class SmsStatusCallback {
+
+    @Schema(description = "Message ID the provider returned when the SMS was accepted", example = "local-3f6c1d2e", required = true)
+    @NotBlank
+    private String providerMessageId;
+
+    @Schema(description = "Delivery status", example = "DELIVERED", allowableValues = {"DELIVERED", "FAILED"}, required = true)
+    @NotBlank
+    private String status;
+
+    @Schema(description = "Provider error for failed deliveries", example = "Handset unreachable")
+    private String error;
+
+    // Constructors
+    public SmsStatusCallback() {}
+
+    public SmsStatusCallback(String providerMessageId, String status, String error) {
+        this.providerMessageId = providerMessageId;
+        this.status = status;
+        this.error = error;
+    }
+
+    // Getters and Setters
+    public String getProviderMessageId() {
+        return providerMessageId;
+    }
+
+    public void setProviderMessageId(String providerMessageId) {
+        this.providerMessageId = providerMessageId;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.swagger.event;
+
+import com.example.swagger.model.User;
+
+/**
+ * Published by {@link com.example.swagger.service.UserService} after every user mutation.
+ * Listeners that keep derived state (caches, streams, indexes) should react after commit.
+ */
+public class UserChangedEvent {
+
+    public enum ChangeType {
+        CREATED, UPDATED, POINTS_CHANGED, DELETED
+    }
+
+    private final ChangeType changeType;
+    private final Long userId;
+    private final User user;
+
+    public UserChangedEvent(ChangeType changeType, Long userId, User user) {
+        this.changeType = changeType;
+        this.userId = userId;
+        this.user = user;
+    }
+
+    public ChangeType getChangeType() {
+        return changeType;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    // Null when the user was deleted
+    public User getUser() {
+        return user;
+    }
+}
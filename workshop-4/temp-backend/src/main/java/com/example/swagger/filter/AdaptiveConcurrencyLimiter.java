@@ -0,0 +1,65 @@
+package com.example.swagger.filter;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Concurrency limit that adapts to observed latency (AIMD).
+ * While requests finish under the target latency and the limit is actually being used, it grows by one per full window;
+ * when a request exceeds the target it is cut multiplicatively. Acquiring never blocks: callers that do not get a permit
+ * are expected to shed the request.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private static final double BACKOFF_RATIO = 0.9;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long targetLatencyNanos;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private volatile double limit;
+    private int successesInWindow;
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, long targetLatencyNanos) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.targetLatencyNanos = targetLatencyNanos;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+    }
+
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= (int) limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    public void release(long latencyNanos) {
+        int before = inFlight.getAndDecrement();
+        synchronized (this) {
+            if (latencyNanos > targetLatencyNanos) {
+                limit = Math.max(minLimit, limit * BACKOFF_RATIO);
+                successesInWindow = 0;
+            } else if (before >= (int) limit / 2) {
+                // Only grow when the current limit is actually being used
+                if (++successesInWindow >= (int) limit) {
+                    limit = Math.min(maxLimit, limit + 1);
+                    successesInWindow = 0;
+                }
+            }
+        }
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.swagger.filter;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-client token buckets. Each client may burst up to {@code burst} requests and is refilled at {@code ratePerSecond}.
+ * <p>
+ * At most {@code maxClients} buckets are tracked. Buckets that have refilled completely carry no state worth keeping, so
+ * {@link #evictIdle()} drops them; it is meant to run on a schedule, keeping the request path O(1). While the map is
+ * full, clients without a bucket share one overflow bucket, so a flood of new client keys is throttled as a whole.
+ */
+public class TokenBucketRateLimiter {
+
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private final double ratePerSecond;
+    private final double burst;
+    private final int maxClients;
+    private final ConcurrentHashMap<String, Bucket> buckets = new ConcurrentHashMap<>();
+    private final Bucket overflow;
+
+    public TokenBucketRateLimiter(double ratePerSecond, double burst, int maxClients) {
+        this.ratePerSecond = ratePerSecond;
+        this.burst = burst;
+        this.maxClients = maxClients;
+        this.overflow = new Bucket(System.nanoTime());
+    }
+
+    /**
+     * Takes a token for the client. Returns 0 when allowed, otherwise the number of seconds until a token is available.
+     */
+    public long tryAcquire(String clientId) {
+        long now = System.nanoTime();
+        Bucket bucket = buckets.get(clientId);
+        if (bucket == null) {
+            bucket = buckets.size() < maxClients ? buckets.computeIfAbsent(clientId, id -> new Bucket(now)) : overflow;
+        }
+        return bucket.tryTake(now);
+    }
+
+    // Returns the number of buckets dropped
+    public int evictIdle() {
+        long now = System.nanoTime();
+        int before = buckets.size();
+        buckets.values().removeIf(bucket -> bucket.isFull(now));
+        return before - buckets.size();
+    }
+
+    public int getTrackedClients() {
+        return buckets.size();
+    }
+
+    private final class Bucket {
+        private double tokens;
+        private long lastRefillNanos;
+
+        private Bucket(long now) {
+            this.tokens = burst;
+            this.lastRefillNanos = now;
+        }
+
+        private synchronized long tryTake(long now) {
+            refill(now);
+            if (tokens >= 1) {
+                tokens -= 1;
+                return 0;
+            }
+            return (long) Math.ceil((1 - tokens) / ratePerSecond);
+        }
+
+        private synchronized boolean isFull(long now) {
+            refill(now);
+            return tokens >= burst;
+        }
+
+        private void refill(long now) {
+            double elapsedSeconds = (double) (now - lastRefillNanos) / NANOS_PER_SECOND;
+            tokens = Math.min(burst, tokens + elapsedSeconds * ratePerSecond);
+            lastRefillNanos = now;
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.example.swagger.filter;
+
+import com.example.swagger.dto.ApiResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Admission control for the SQLite write routes under {@link #WRITE_PATH_PREFIXES}.
+ * <p>
+ * Each client, identified by its remote address, is first rate limited by a token bucket (429 when empty); a header the
+ * client sets itself would let it pick a fresh bucket per request. The request then needs a permit from an adaptive
+ * concurrency limiter (503 when none is free). Both rejections are immediate and carry {@code Retry-After}, so excess
+ * writes fail fast instead of queueing on SQLite's writer lock and tying up Tomcat threads. Reads never pass through here.
+ */
+@Component
+public class WriteAdmissionFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(WriteAdmissionFilter.class);
+
+    private static final Set<String> WRITE_METHODS = Set.of("POST", "PUT", "PATCH", "DELETE");
+    private static final List<String> WRITE_PATH_PREFIXES = List.of("/users", "/payment-requests", "/products", "/orders");
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${app.admission.enabled:true}")
+    private boolean enabled;
+
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private final TokenBucketRateLimiter rateLimiter;
+
+    public WriteAdmissionFilter(
+            @Value("${app.admission.initial-limit:4}") int initialLimit,
+            @Value("${app.admission.min-limit:1}") int minLimit,
+            @Value("${app.admission.max-limit:32}") int maxLimit,
+            @Value("${app.admission.target-latency-ms:200}") long targetLatencyMs,
+            @Value("${app.admission.client-rate-per-second:20}") double clientRatePerSecond,
+            @Value("${app.admission.client-burst:40}") double clientBurst,
+            @Value("${app.admission.max-tracked-clients:100000}") int maxTrackedClients) {
+        this.concurrencyLimiter = new AdaptiveConcurrencyLimiter(
+                initialLimit, minLimit, maxLimit, targetLatencyMs * 1_000_000L);
+        this.rateLimiter = new TokenBucketRateLimiter(clientRatePerSecond, clientBurst, maxTrackedClients);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!enabled || !WRITE_METHODS.contains(request.getMethod())) {
+            return true;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        // batch-get is a POST but only reads
+        return WRITE_PATH_PREFIXES.stream().noneMatch(path::startsWith) || path.equals("/users/batch-get");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long retryAfterSeconds = rateLimiter.tryAcquire(request.getRemoteAddr());
+        if (retryAfterSeconds > 0) {
+            reject(response, HttpStatus.TOO_MANY_REQUESTS, retryAfterSeconds,
+                    "Too many write requests from this client, please retry later");
+            return;
+        }
+        if (!concurrencyLimiter.tryAcquire()) {
+            log.debug("Shedding write request {} {}: {} in flight, limit {}", request.getMethod(),
+                    request.getRequestURI(), concurrencyLimiter.getInFlight(), concurrencyLimiter.getLimit());
+            reject(response, HttpStatus.SERVICE_UNAVAILABLE, 1,
+                    "Write capacity exhausted, please retry later");
+            return;
+        }
+
+        long start = System.nanoTime();
+        AtomicBoolean released = new AtomicBoolean();
+        Runnable release = () -> {
+            if (released.compareAndSet(false, true)) {
+                concurrencyLimiter.release(System.nanoTime() - start);
+            }
+        };
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                // Async endpoints finish later; hold the permit until the response is complete
+                request.getAsyncContext().addListener(new ReleasingAsyncListener(release));
+            } else {
+                release.run();
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.admission.client-sweep-interval-ms:10000}")
+    public void evictIdleClients() {
+        int evicted = rateLimiter.evictIdle();
+        if (evicted > 0) {
+            log.debug("Dropped {} idle client rate limits, {} still tracked", evicted, rateLimiter.getTrackedClients());
+        }
+    }
+
+    private void reject(HttpServletResponse response, HttpStatus status, long retryAfterSeconds, String message)
+            throws IOException {
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), ApiResponse.error(message));
+    }
+
+    private static final class ReleasingAsyncListener implements AsyncListener {
+        private final Runnable release;
+
+        private ReleasingAsyncListener(Runnable release) {
+            this.release = release;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release.run();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release.run();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release.run();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // Re-registration is not needed; the permit is tied to the original request
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.swagger.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Entity
+@Table(name = "orders")
+@Schema(description = "Order paid with points")
+public class Order {
+
+    public enum Status {
+        PAID
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Schema(description = "Order ID", example = "1001")
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    @Schema(description = "ID of the paying user", example = "1")
+    private Long userId;
+
+    @Column(nullable = false)
+    @Schema(description = "Total charged in points", example = "240")
+    private Integer totalPoints;
+
+    @Column(nullable = false)
+    @Enumerated(EnumType.STRING)
+    @Schema(description = "Order status", example = "PAID", allowableValues = {"PAID"})
+    private Status status;
+
+    @Schema(description = "Customer name attached to the order", example = "สมชาย ใจดี")
+    private String customerName;
+
+    @Schema(description = "Customer phone for the SMS receipt", example = "081-234-5678")
+    private String customerPhone;
+
+    @OneToMany(cascade = CascadeType.ALL, fetch = FetchType.EAGER)
+    @JoinColumn(name = "order_id", nullable = false)
+    @Schema(description = "Order lines")
+    private List<OrderItem> items = new ArrayList<>();
+
+    @Column(nullable = false, updatable = false)
+    @Schema(description = "Checkout time", example = "2024-01-15T15:45:30")
+    private LocalDateTime createdAt;
+
+    // Constructors
+    public Order() {}
+
+    public Order(Long userId, Integer totalPoints, String customerName, String customerPhone, List<OrderItem> items) {
+        this.userId = userId;
+        this.totalPoints = totalPoints;
+        this.status = Status.PAID;
+        this.customerName = customerName;
+        this.customerPhone = customerPhone;
+        this.items = items;
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        this.createdAt = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public Integer getTotalPoints() {
+        return totalPoints;
+    }
+
+    public void setTotalPoints(Integer totalPoints) {
+        this.totalPoints = totalPoints;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public String getCustomerName() {
+        return customerName;
+    }
+
+    public void setCustomerName(String customerName) {
+        this.customerName = customerName;
+    }
+
+    public String getCustomerPhone() {
+        return customerPhone;
+    }
+
+    public void setCustomerPhone(String customerPhone) {
+        this.customerPhone = customerPhone;
+    }
+
+    public List<OrderItem> getItems() {
+        return items;
+    }
+
+    public void setItems(List<OrderItem> items) {
+        this.items = items;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.swagger.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.persistence.*;
+
+/**
+ * Order line. Name and price are copied from the catalog at checkout so later product edits do not change past orders.
+ */
+@Entity
+@Table(name = "order_items")
+@Schema(description = "Single line of an order")
+public class OrderItem {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Schema(description = "Order item ID", example = "1")
+    private Long id;
+
+    @Column(name = "product_id", nullable = false)
+    @Schema(description = "Product ID", example = "10")
+    private Long productId;
+
+    @Column(nullable = false)
+    @Schema(description = "Product name at checkout", example = "กาแฟเย็น")
+    private String productName;
+
+    @Column(nullable = false)
+    @Schema(description = "Unit price in points at checkout", example = "120")
+    private Integer unitPricePoints;
+
+    @Column(nullable = false)
+    @Schema(description = "Quantity", example = "2")
+    private Integer quantity;
+
+    // Constructors
+    public OrderItem() {}
+
+    public OrderItem(Long productId, String productName, Integer unitPricePoints, Integer quantity) {
+        this.productId = productId;
+        this.productName = productName;
+        this.unitPricePoints = unitPricePoints;
+        this.quantity = quantity;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public void setProductId(Long productId) {
+        this.productId = productId;
+    }
+
+    public String getProductName() {
+        return productName;
+    }
+
+    public void setProductName(String productName) {
+        this.productName = productName;
+    }
+
+    public Integer getUnitPricePoints() {
+        return unitPricePoints;
+    }
+
+    public void setUnitPricePoints(Integer unitPricePoints) {
+        this.unitPricePoints = unitPricePoints;
+    }
+
+    public Integer getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(Integer quantity) {
+        this.quantity = quantity;
+    }
+}
@@ -0,0 +1,175 @@
+package com.example.swagger.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.persistence.*;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * QR "request points" (PRD 3.4). Pending requests are held in memory by the payment request service;
+ * a row is written once, when the request is paid or expires.
+ */
+@Entity
+@Table(
+    name = "payment_requests",
+    indexes = @Index(name = "idx_payment_requests_recipient_id", columnList = "recipient_id, created_at")
+)
+@Schema(description = "Request for points that a payer settles by scanning its QR code")
+public class PaymentRequest implements Persistable<String> {
+
+    public enum Status {
+        PENDING, PAID, EXPIRED
+    }
+
+    @Id
+    @Column(length = 36)
+    @Schema(description = "Payment request ID encoded in the QR code", example = "5f0c6c1e-8f7b-4c86-9d55-0e6b4b0f6a1d")
+    private String id;
+
+    @Column(name = "recipient_id", nullable = false)
+    @Schema(description = "ID of the user receiving the points", example = "1")
+    private Long recipientId;
+
+    @Column(name = "payer_id")
+    @Schema(description = "ID of the user who paid, null until paid", example = "2")
+    private Long payerId;
+
+    @Column(nullable = false)
+    @Schema(description = "Requested points", example = "250")
+    private Integer amount;
+
+    @Schema(description = "Optional note shown to the payer", example = "Lunch")
+    private String memo;
+
+    @Column(nullable = false)
+    @Enumerated(EnumType.STRING)
+    @Schema(description = "Request status", example = "PENDING", allowableValues = {"PENDING", "PAID", "EXPIRED"})
+    private Status status;
+
+    @Column(name = "created_at", nullable = false)
+    @Schema(description = "Creation time", example = "2024-01-15T15:45:30")
+    private LocalDateTime createdAt;
+
+    @Column(name = "expires_at", nullable = false)
+    @Schema(description = "Time after which the request can no longer be paid", example = "2024-01-15T15:50:30")
+    private LocalDateTime expiresAt;
+
+    @Column(name = "completed_at")
+    @Schema(description = "Time the request was paid or expired", example = "2024-01-15T15:46:02")
+    private LocalDateTime completedAt;
+
+    // Constructors
+    public PaymentRequest() {}
+
+    public PaymentRequest(String id, Long recipientId, Integer amount, String memo,
+                          LocalDateTime createdAt, LocalDateTime expiresAt) {
+        this.id = id;
+        this.recipientId = recipientId;
+        this.amount = amount;
+        this.memo = memo;
+        this.status = Status.PENDING;
+        this.createdAt = createdAt;
+        this.expiresAt = expiresAt;
+    }
+
+    // Copy in a final state; the pending instance is shared between threads and never modified
+    public PaymentRequest withOutcome(Status status, Long payerId, LocalDateTime completedAt) {
+        PaymentRequest copy = new PaymentRequest(id, recipientId, amount, memo, createdAt, expiresAt);
+        copy.status = status;
+        copy.payerId = payerId;
+        copy.completedAt = completedAt;
+        return copy;
+    }
+
+    @Schema(description = "Payload to encode in the QR code", example = "lbkpoints://pay?request=5f0c6c1e-8f7b-4c86-9d55-0e6b4b0f6a1d&recipient=1&amount=250&expiry=1705333830")
+    public String getQrPayload() {
+        return "lbkpoints://pay?request=" + id
+                + "&recipient=" + recipientId
+                + "&amount=" + amount
+                + "&expiry=" + expiresAt.atZone(ZoneId.systemDefault()).toEpochSecond();
+    }
+
+    // Rows are only ever inserted, so skip the merge lookup Spring Data would do for an assigned id
+    @Override
+    @JsonIgnore
+    public boolean isNew() {
+        return true;
+    }
+
+    // Getters and Setters
+    @Override
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public Long getRecipientId() {
+        return recipientId;
+    }
+
+    public void setRecipientId(Long recipientId) {
+        this.recipientId = recipientId;
+    }
+
+    public Long getPayerId() {
+        return payerId;
+    }
+
+    public void setPayerId(Long payerId) {
+        this.payerId = payerId;
+    }
+
+    public Integer getAmount() {
+        return amount;
+    }
+
+    public void setAmount(Integer amount) {
+        this.amount = amount;
+    }
+
+    public String getMemo() {
+        return memo;
+    }
+
+    public void setMemo(String memo) {
+        this.memo = memo;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(LocalDateTime expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+
+    public LocalDateTime getCompletedAt() {
+        return completedAt;
+    }
+
+    public void setCompletedAt(LocalDateTime completedAt) {
+        this.completedAt = completedAt;
+    }
+}
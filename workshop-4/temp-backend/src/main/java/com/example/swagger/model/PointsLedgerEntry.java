@@ -0,0 +1,123 @@
+package com.example.swagger.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "points_ledger")
+@Schema(description = "Immutable record of a single points movement")
+public class PointsLedgerEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Schema(description = "Ledger entry ID", example = "1001")
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    @Schema(description = "Owner of the balance", example = "1")
+    private Long userId;
+
+    @Column(nullable = false)
+    @Enumerated(EnumType.STRING)
+    @Schema(
+        description = "Kind of movement",
+        example = "SPEND",
+        allowableValues = {"EARN", "SPEND", "TRANSFER_IN", "TRANSFER_OUT", "ADJUSTMENT"}
+    )
+    private EntryType type;
+
+    @Column(nullable = false)
+    @Schema(description = "Signed amount; negative for spend and outgoing transfers", example = "-50")
+    private Integer amount;
+
+    @Column(nullable = false)
+    @Schema(description = "Balance after this entry", example = "1450")
+    private Integer balanceAfter;
+
+    @Schema(description = "Related order, payment request or counterparty", example = "order:42")
+    private String reference;
+
+    @Column(nullable = false, updatable = false)
+    @Schema(description = "Entry timestamp", example = "2024-01-15T15:45:30")
+    private LocalDateTime createdAt;
+
+    // Enum for ledger entry types
+    public enum EntryType {
+        EARN, SPEND, TRANSFER_IN, TRANSFER_OUT, ADJUSTMENT
+    }
+
+    // Constructors
+    public PointsLedgerEntry() {}
+
+    public PointsLedgerEntry(Long userId, EntryType type, Integer amount, Integer balanceAfter, String reference) {
+        this.userId = userId;
+        this.type = type;
+        this.amount = amount;
+        this.balanceAfter = balanceAfter;
+        this.reference = reference;
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        this.createdAt = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public EntryType getType() {
+        return type;
+    }
+
+    public void setType(EntryType type) {
+        this.type = type;
+    }
+
+    public Integer getAmount() {
+        return amount;
+    }
+
+    public void setAmount(Integer amount) {
+        this.amount = amount;
+    }
+
+    public Integer getBalanceAfter() {
+        return balanceAfter;
+    }
+
+    public void setBalanceAfter(Integer balanceAfter) {
+        this.balanceAfter = balanceAfter;
+    }
+
+    public String getReference() {
+        return reference;
+    }
+
+    public void setReference(String reference) {
+        this.reference = reference;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
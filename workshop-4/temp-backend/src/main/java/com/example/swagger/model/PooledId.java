@@ -0,0 +1,24 @@
+package com.example.swagger.model;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Assigns ids from blocks reserved in the {@code id_sequences} table, see {@link PooledIdGenerator}.
+ * Unlike {@code GenerationType.IDENTITY} the id is known before the INSERT, so Hibernate can batch inserts.
+ */
+@IdGeneratorType(PooledIdGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface PooledId {
+
+    // Row in id_sequences that tracks this entity's allocations
+    String sequenceName();
+
+    // Number of ids handed out from memory per database round trip
+    int allocationSize() default 50;
+}
@@ -0,0 +1,90 @@
+package com.example.swagger.model;
+
+import org.hibernate.HibernateException;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.hibernate.id.factory.spi.CustomIdGeneratorCreationContext;
+
+import java.lang.reflect.Member;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Pooled id allocator backed by a single row per sequence in {@code id_sequences}.
+ * <p>
+ * Ids are handed out from an in-memory block; only reserving a new block touches the database. The reservation runs on
+ * the caller's connection and transaction instead of a separate one, because a second SQLite connection could not commit
+ * while the caller holds its read lock. The in-memory counter is authoritative while the process runs: if the caller
+ * rolls back, the block is still considered used. On the first reservation after startup the counter is seeded from the
+ * larger of the stored value and {@code MAX(id) + 1}, so existing rows (including ones created with IDENTITY) are never
+ * reused.
+ */
+public class PooledIdGenerator implements IdentifierGenerator {
+
+    private final String sequenceName;
+    private final int allocationSize;
+    private final String tableName;
+    private final String idColumn;
+
+    private boolean initialized;
+    private long nextId;
+    private long blockLimit;
+
+    public PooledIdGenerator(PooledId config, Member idMember, CustomIdGeneratorCreationContext context) {
+        this.sequenceName = config.sequenceName();
+        this.allocationSize = config.allocationSize();
+        this.tableName = context.getRootClass().getTable().getName();
+        this.idColumn = context.getRootClass().getIdentifier().getColumns().get(0).getName();
+    }
+
+    @Override
+    public synchronized Object generate(SharedSessionContractImplementor session, Object object) {
+        if (!initialized || nextId >= blockLimit) {
+            reserveBlock(session.getJdbcCoordinator().getLogicalConnection().getPhysicalConnection());
+        }
+        return nextId++;
+    }
+
+    private void reserveBlock(Connection connection) {
+        try {
+            long start = initialized ? blockLimit : seedValue(connection);
+            long limit = start + allocationSize;
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "INSERT INTO id_sequences (sequence_name, next_val) VALUES (?, ?) "
+                            + "ON CONFLICT (sequence_name) DO UPDATE SET next_val = MAX(next_val, excluded.next_val)")) {
+                statement.setString(1, sequenceName);
+                statement.setLong(2, limit);
+                statement.executeUpdate();
+            }
+            nextId = start;
+            blockLimit = limit;
+            initialized = true;
+        } catch (SQLException e) {
+            throw new HibernateException("Could not reserve id block for sequence " + sequenceName, e);
+        }
+    }
+
+    private long seedValue(Connection connection) throws SQLException {
+        long seed = 1;
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT next_val FROM id_sequences WHERE sequence_name = ?")) {
+            statement.setString(1, sequenceName);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                if (resultSet.next()) {
+                    seed = Math.max(seed, resultSet.getLong(1));
+                }
+            }
+        }
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(
+                     "SELECT COALESCE(MAX(" + idColumn + "), 0) + 1 FROM " + tableName)) {
+            if (resultSet.next()) {
+                seed = Math.max(seed, resultSet.getLong(1));
+            }
+        }
+        return seed;
+    }
+}
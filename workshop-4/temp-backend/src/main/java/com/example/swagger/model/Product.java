@@ -0,0 +1,158 @@
+package com.example.swagger.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "products")
+@Schema(description = "Product that can be redeemed with points")
+public class Product {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Schema(description = "Unique identifier for the product", example = "10")
+    private Long id;
+
+    @Column(nullable = false)
+    @Schema(description = "Product name", example = "กาแฟเย็น", required = true)
+    @NotBlank
+    private String name;
+
+    @Column(length = 1000)
+    @Schema(description = "Product description", example = "Iced coffee, 16 oz")
+    @Size(max = 1000)
+    private String description;
+
+    @Column(nullable = false)
+    @Schema(description = "Price in points", example = "120", required = true)
+    @NotNull
+    @Min(1)
+    private Integer pricePoints;
+
+    @Column(length = 500)
+    @Schema(description = "Product image URL", example = "https://cdn.example.com/products/10.jpg")
+    @Size(max = 500)
+    private String imageUrl;
+
+    @Column(nullable = false)
+    @Schema(description = "Whether the product is listed in the catalog", example = "true")
+    private Boolean active;
+
+    @Schema(description = "Units in stock; null when stock is not tracked", example = "25", minimum = "0")
+    @Min(0)
+    private Integer stock;
+
+    @Column(nullable = false, updatable = false)
+    @Schema(description = "Record creation timestamp", example = "2024-01-15T10:30:00")
+    private LocalDateTime createdAt;
+
+    @Column(nullable = false)
+    @Schema(description = "Record last update timestamp", example = "2024-01-15T15:45:30")
+    private LocalDateTime updatedAt;
+
+    // Constructors
+    public Product() {}
+
+    public Product(String name, String description, Integer pricePoints, String imageUrl, Boolean active, Integer stock) {
+        this.name = name;
+        this.description = description;
+        this.pricePoints = pricePoints;
+        this.imageUrl = imageUrl;
+        this.active = active;
+        this.stock = stock;
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        LocalDateTime now = LocalDateTime.now();
+        this.createdAt = now;
+        this.updatedAt = now;
+        if (this.active == null) {
+            this.active = true;
+        }
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public Integer getPricePoints() {
+        return pricePoints;
+    }
+
+    public void setPricePoints(Integer pricePoints) {
+        this.pricePoints = pricePoints;
+    }
+
+    public String getImageUrl() {
+        return imageUrl;
+    }
+
+    public void setImageUrl(String imageUrl) {
+        this.imageUrl = imageUrl;
+    }
+
+    public Boolean getActive() {
+        return active;
+    }
+
+    public void setActive(Boolean active) {
+        this.active = active;
+    }
+
+    public Integer getStock() {
+        return stock;
+    }
+
+    public void setStock(Integer stock) {
+        this.stock = stock;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
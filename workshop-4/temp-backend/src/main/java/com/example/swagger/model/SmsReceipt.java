@@ -0,0 +1,184 @@
+package com.example.swagger.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Queued SMS receipt for an order. Rows move PENDING → SENDING → SENT → DELIVERED; failed sends go back to PENDING with
+ * a later {@code nextAttemptAt} until the attempt limit, after which they stay DEAD until retried by hand.
+ */
+@Entity
+@Table(name = "sms_receipts")
+@Schema(description = "SMS receipt queued for delivery")
+public class SmsReceipt {
+
+    public enum Status {
+        PENDING, SENDING, SENT, DELIVERED, DEAD
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Schema(description = "Receipt ID", example = "7")
+    private Long id;
+
+    @Column(name = "order_id", nullable = false)
+    @Schema(description = "Order the receipt is for", example = "1001")
+    private Long orderId;
+
+    @Column(nullable = false, length = 32)
+    @Schema(description = "Destination phone number, digits only", example = "0812345678")
+    private String phone;
+
+    @Column(nullable = false, length = 1000)
+    @Schema(description = "Message text", example = "LBK Points: order #1001 paid, 240 points. Balance 760 points.")
+    private String message;
+
+    @Column(nullable = false)
+    @Enumerated(EnumType.STRING)
+    @Schema(
+        description = "Delivery status",
+        example = "SENT",
+        allowableValues = {"PENDING", "SENDING", "SENT", "DELIVERED", "DEAD"}
+    )
+    private Status status;
+
+    @Column(nullable = false)
+    @Schema(description = "Send attempts so far", example = "1")
+    private Integer attempts;
+
+    @Column(nullable = false)
+    @Schema(description = "Earliest time of the next send attempt", example = "2024-01-15T15:45:30")
+    private LocalDateTime nextAttemptAt;
+
+    @Schema(description = "Message ID assigned by the SMS provider", example = "local-3f6c1d2e")
+    private String providerMessageId;
+
+    @Column(length = 1000)
+    @Schema(description = "Last send or delivery error", example = "Provider timeout")
+    private String lastError;
+
+    @Column(nullable = false, updatable = false)
+    @Schema(description = "Record creation timestamp", example = "2024-01-15T15:45:30")
+    private LocalDateTime createdAt;
+
+    @Column(nullable = false)
+    @Schema(description = "Record last update timestamp", example = "2024-01-15T15:45:31")
+    private LocalDateTime updatedAt;
+
+    // Constructors
+    public SmsReceipt() {}
+
+    public SmsReceipt(Long orderId, String phone, String message) {
+        this.orderId = orderId;
+        this.phone = phone;
+        this.message = message;
+        this.status = Status.PENDING;
+        this.attempts = 0;
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        LocalDateTime now = LocalDateTime.now();
+        this.createdAt = now;
+        this.updatedAt = now;
+        if (this.nextAttemptAt == null) {
+            this.nextAttemptAt = now;
+        }
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getOrderId() {
+        return orderId;
+    }
+
+    public void setOrderId(Long orderId) {
+        this.orderId = orderId;
+    }
+
+    public String getPhone() {
+        return phone;
+    }
+
+    public void setPhone(String phone) {
+        this.phone = phone;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public Integer getAttempts() {
+        return attempts;
+    }
+
+    public void setAttempts(Integer attempts) {
+        this.attempts = attempts;
+    }
+
+    public LocalDateTime getNextAttemptAt() {
+        return nextAttemptAt;
+    }
+
+    public void setNextAttemptAt(LocalDateTime nextAttemptAt) {
+        this.nextAttemptAt = nextAttemptAt;
+    }
+
+    public String getProviderMessageId() {
+        return providerMessageId;
+    }
+
+    public void setProviderMessageId(String providerMessageId) {
+        this.providerMessageId = providerMessageId;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public void setLastError(String lastError) {
+        this.lastError = lastError;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
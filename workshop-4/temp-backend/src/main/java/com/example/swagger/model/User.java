@@ -15,7 +15,7 @@ import java.time.LocalDateTime;
 public class User {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledId(sequenceName = "users")
     @Schema(
         description = "Unique identifier for the user",
         example = "123",
@@ -0,0 +1,126 @@
+package com.example.swagger.model;
+
+import com.example.swagger.event.UserChangedEvent.ChangeType;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Outbox record written in the same transaction as the user mutation it describes.
+ * The auto-increment id is the consumer offset for {@code GET /changes}.
+ */
+@Entity
+@Table(
+    name = "user_changes",
+    indexes = @Index(name = "idx_user_changes_user_id", columnList = "user_id, id")
+)
+@Schema(description = "Compact record of a single user mutation")
+public class UserChange {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Schema(description = "Monotonically increasing change offset", example = "42")
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    @Schema(description = "ID of the changed user", example = "1")
+    private Long userId;
+
+    @Column(nullable = false)
+    @Enumerated(EnumType.STRING)
+    @Schema(
+        description = "Kind of change",
+        example = "POINTS_CHANGED",
+        allowableValues = {"CREATED", "UPDATED", "POINTS_CHANGED", "DELETED"}
+    )
+    private ChangeType changeType;
+
+    @Schema(description = "Points balance after the change, null for deletions", example = "1500")
+    private Integer points;
+
+    @Schema(description = "Signed change in points, 0 when the balance did not change", example = "-50")
+    private Integer pointsDelta;
+
+    @Enumerated(EnumType.STRING)
+    @Schema(description = "Membership level after the change, null for deletions", example = "GOLD")
+    private User.MembershipLevel membershipLevel;
+
+    @Column(nullable = false, updatable = false)
+    @Schema(description = "Time the change was committed", example = "2024-01-15T15:45:30")
+    private LocalDateTime createdAt;
+
+    // Constructors
+    public UserChange() {}
+
+    public UserChange(Long userId, ChangeType changeType, Integer points, Integer pointsDelta,
+                      User.MembershipLevel membershipLevel) {
+        this.userId = userId;
+        this.changeType = changeType;
+        this.points = points;
+        this.pointsDelta = pointsDelta;
+        this.membershipLevel = membershipLevel;
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        this.createdAt = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public ChangeType getChangeType() {
+        return changeType;
+    }
+
+    public void setChangeType(ChangeType changeType) {
+        this.changeType = changeType;
+    }
+
+    public Integer getPoints() {
+        return points;
+    }
+
+    public void setPoints(Integer points) {
+        this.points = points;
+    }
+
+    public Integer getPointsDelta() {
+        return pointsDelta;
+    }
+
+    public void setPointsDelta(Integer pointsDelta) {
+        this.pointsDelta = pointsDelta;
+    }
+
+    public User.MembershipLevel getMembershipLevel() {
+        return membershipLevel;
+    }
+
+    public void setMembershipLevel(User.MembershipLevel membershipLevel) {
+        this.membershipLevel = membershipLevel;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
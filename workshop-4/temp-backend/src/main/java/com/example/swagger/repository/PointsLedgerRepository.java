@@ -0,0 +1,37 @@
+package com.example.swagger.repository;
+
+import com.example.swagger.model.PointsLedgerEntry;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface PointsLedgerRepository extends JpaRepository<PointsLedgerEntry, Long> {
+
+    List<PointsLedgerEntry> findByTypeInAndCreatedAtGreaterThanEqual(
+            Collection<PointsLedgerEntry.EntryType> types, LocalDateTime since);
+
+    // First page of a user's history, newest first
+    @Query("SELECT e FROM PointsLedgerEntry e WHERE e.userId = :userId AND e.type IN :types "
+            + "ORDER BY e.createdAt DESC, e.id DESC")
+    List<PointsLedgerEntry> findHistory(@Param("userId") Long userId,
+                                        @Param("types") Collection<PointsLedgerEntry.EntryType> types,
+                                        Pageable pageable);
+
+    // Next page strictly after the (createdAt, id) cursor; the extra <= bound lets SQLite seek the index
+    @Query("SELECT e FROM PointsLedgerEntry e WHERE e.userId = :userId AND e.type IN :types "
+            + "AND e.createdAt <= :createdAt "
+            + "AND (e.createdAt < :createdAt OR e.id < :id) "
+            + "ORDER BY e.createdAt DESC, e.id DESC")
+    List<PointsLedgerEntry> findHistoryBefore(@Param("userId") Long userId,
+                                              @Param("types") Collection<PointsLedgerEntry.EntryType> types,
+                                              @Param("createdAt") LocalDateTime createdAt,
+                                              @Param("id") Long id,
+                                              Pageable pageable);
+}
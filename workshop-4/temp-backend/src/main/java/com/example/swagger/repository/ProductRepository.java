@@ -0,0 +1,17 @@
+package com.example.swagger.repository;
+
+import com.example.swagger.model.Product;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ProductRepository extends JpaRepository<Product, Long> {
+
+    // Relative update, so concurrent checkouts never overwrite each other's decrement
+    @Modifying
+    @Query("UPDATE Product p SET p.stock = p.stock + :delta WHERE p.id = :id AND p.stock IS NOT NULL")
+    int adjustStock(@Param("id") Long id, @Param("delta") int delta);
+}
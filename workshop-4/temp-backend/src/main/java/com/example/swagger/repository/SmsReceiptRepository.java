@@ -0,0 +1,28 @@
+package com.example.swagger.repository;
+
+import com.example.swagger.model.SmsReceipt;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface SmsReceiptRepository extends JpaRepository<SmsReceipt, Long> {
+
+    List<SmsReceipt> findByStatusAndNextAttemptAtLessThanEqualOrderByNextAttemptAtAsc(
+            SmsReceipt.Status status, LocalDateTime now, Pageable pageable);
+
+    Optional<SmsReceipt> findByProviderMessageId(String providerMessageId);
+
+    List<SmsReceipt> findByOrderIdOrderByIdAsc(Long orderId);
+
+    @Modifying
+    @Query("UPDATE SmsReceipt r SET r.status = :to WHERE r.status = :from")
+    int updateStatus(@Param("from") SmsReceipt.Status from, @Param("to") SmsReceipt.Status to);
+}
@@ -0,0 +1,24 @@
+package com.example.swagger.repository;
+
+import com.example.swagger.model.UserChange;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface UserChangeRepository extends JpaRepository<UserChange, Long> {
+
+    List<UserChange> findByIdGreaterThanOrderByIdAsc(Long after, Pageable pageable);
+
+    // Log compaction: drop old entries but keep the newest record of every user
+    @Modifying
+    @Query("DELETE FROM UserChange c WHERE c.createdAt < :cutoff AND c.id NOT IN "
+            + "(SELECT MAX(c2.id) FROM UserChange c2 GROUP BY c2.userId)")
+    int deleteSupersededBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -1,9 +1,14 @@
 package com.example.swagger.repository;
 
 import com.example.swagger.model.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -12,4 +17,13 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
     
     boolean existsByEmail(String email);
-}
\ No newline at end of file
+
+    @Query("SELECT u.email FROM User u WHERE u.email IN :emails")
+    List<String> findEmailsIn(@Param("emails") Collection<String> emails);
+
+    List<User> findByIdGreaterThanOrderByIdAsc(Long after, Pageable pageable);
+
+    // Keyset pages of id, points, updatedAt for the balance index
+    @Query("SELECT u.id, u.points, u.updatedAt FROM User u WHERE u.id > :after ORDER BY u.id")
+    List<Object[]> findBalancesAfter(@Param("after") Long after, Pageable pageable);
+}
@@ -0,0 +1,90 @@
+package com.example.swagger.service;
+
+import com.example.swagger.model.User;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Runs points mutations on a small bounded write executor so request threads are not held during SQLite lock waits.
+ * A full queue rejects immediately with {@link RejectedExecutionException} instead of letting work pile up.
+ */
+@Service
+public class AsyncPointsService {
+
+    @Autowired
+    private UserService userService;
+
+    private final ThreadPoolExecutor writeExecutor;
+
+    public AsyncPointsService(
+            @Value("${app.write-executor.threads:1}") int threads,
+            @Value("${app.write-executor.queue-capacity:1000}") int queueCapacity) {
+        this.writeExecutor = new ThreadPoolExecutor(
+                threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory("points-write-"),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    public QueuedMutation addPoints(Long userId, Integer pointsToAdd) {
+        return submit(() -> userService.addPoints(userId, pointsToAdd));
+    }
+
+    public QueuedMutation deductPoints(Long userId, Integer pointsToDeduct) {
+        return submit(() -> userService.deductPoints(userId, pointsToDeduct));
+    }
+
+    private QueuedMutation submit(Supplier<User> mutation) {
+        QueuedMutation queued = new QueuedMutation();
+        writeExecutor.execute(() -> {
+            if (!queued.claimed.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                queued.result.complete(mutation.get());
+            } catch (RuntimeException | Error e) {
+                queued.result.completeExceptionally(e);
+            }
+        });
+        return queued;
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        writeExecutor.shutdown();
+        writeExecutor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    /**
+     * A mutation waiting for or running on the write executor. The worker and {@link #cancelIfNotStarted()} race for
+     * the same flag, so a mutation is either skipped or runs to completion, never both.
+     */
+    public static final class QueuedMutation {
+        private final CompletableFuture<User> result = new CompletableFuture<>();
+        private final AtomicBoolean claimed = new AtomicBoolean();
+
+        public CompletableFuture<User> result() {
+            return result;
+        }
+
+        // False once a worker has picked the mutation up; its write may then commit at any time
+        public boolean cancelIfNotStarted() {
+            if (!claimed.compareAndSet(false, true)) {
+                return false;
+            }
+            result.cancel(false);
+            return true;
+        }
+    }
+}
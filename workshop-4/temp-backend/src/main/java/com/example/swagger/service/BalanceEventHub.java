@@ -0,0 +1,237 @@
+package com.example.swagger.service;
+
+import com.example.swagger.dto.BalanceEvent;
+import com.example.swagger.event.UserChangedEvent;
+import com.example.swagger.event.UserChangedEvent.ChangeType;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * In-process fan-out of balance and tier changes to {@code GET /users/{id}/events} subscribers.
+ * Each subscriber buffers at most one pending event: rapid updates overwrite it, so slow clients only see the latest value.
+ * Subscribers hold no thread while idle. Every send, including the heartbeats a single timer asks for, runs on a
+ * dispatcher pool that starts threads on demand, and a subscriber is never queued again while a send to it is in flight.
+ * A client that stops reading therefore holds one dispatcher thread until Tomcat's write timeout
+ * ({@code server.tomcat.connection-timeout}) fails the write and the subscriber is dropped; other subscribers keep
+ * being served by the remaining threads.
+ */
+@Component
+public class BalanceEventHub {
+
+    private static final Logger log = LoggerFactory.getLogger(BalanceEventHub.class);
+
+    private static final String EVENT_NAME = "balance";
+    private static final String DELETED_EVENT_NAME = "deleted";
+
+    private final ConcurrentHashMap<Long, Set<Subscriber>> subscribersByUser = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final ThreadPoolExecutor dispatcher;
+    private final ScheduledExecutorService heartbeat;
+
+    @Value("${app.events.max-subscribers:50000}")
+    private int maxSubscribers;
+
+    @Value("${app.events.emitter-timeout-ms:1800000}")
+    private long emitterTimeoutMs;
+
+    public BalanceEventHub(
+            @Value("${app.events.dispatcher-threads:32}") int dispatcherThreads,
+            @Value("${app.events.heartbeat-interval-ms:15000}") long heartbeatIntervalMs) {
+        // Core size equal to the maximum: the pool grows to its limit instead of queueing behind a stuck write, and
+        // threads idle for a minute exit
+        this.dispatcher = new ThreadPoolExecutor(dispatcherThreads, dispatcherThreads, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), new CustomizableThreadFactory("balance-events-"));
+        this.dispatcher.allowCoreThreadTimeOut(true);
+        this.heartbeat = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("balance-heartbeat-"));
+        this.heartbeat.scheduleWithFixedDelay(this::requestHeartbeats,
+                heartbeatIntervalMs, heartbeatIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Registers a subscriber, then loads and sends the current state unless the client already saw it (matching Last-Event-ID).
+     * Registering before loading means a change committed in between is never missed.
+     */
+    public SseEmitter subscribe(Long userId, String lastEventId, Supplier<Optional<BalanceEvent>> currentState) {
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            throw new RuntimeException("Too many event stream subscribers, please retry later");
+        }
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        Subscriber subscriber = new Subscriber(userId, emitter);
+        subscribersByUser.computeIfAbsent(userId, id -> ConcurrentHashMap.newKeySet()).add(subscriber);
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(error -> remove(subscriber));
+
+        Optional<BalanceEvent> current;
+        try {
+            current = currentState.get();
+        } catch (RuntimeException e) {
+            remove(subscriber);
+            throw e;
+        }
+        if (current.isEmpty()) {
+            remove(subscriber);
+            throw new RuntimeException("User not found with id: " + userId);
+        }
+        if (eventId(current.get()).equals(lastEventId)) {
+            subscriber.lastSent = current.get();
+        } else {
+            subscriber.offer(current.get());
+        }
+        return emitter;
+    }
+
+    public void publish(BalanceEvent event) {
+        Set<Subscriber> subscribers = subscribersByUser.get(event.getUserId());
+        if (subscribers != null) {
+            subscribers.forEach(subscriber -> subscriber.offer(event));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        if (event.getChangeType() == ChangeType.DELETED) {
+            Set<Subscriber> subscribers = subscribersByUser.get(event.getUserId());
+            if (subscribers != null) {
+                subscribers.forEach(Subscriber::offerDeleted);
+            }
+        } else {
+            publish(BalanceEvent.from(event.getUser()));
+        }
+    }
+
+    private void remove(Subscriber subscriber) {
+        if (subscriber.removed.compareAndSet(false, true)) {
+            subscriberCount.decrementAndGet();
+            subscribersByUser.computeIfPresent(subscriber.userId, (id, subscribers) -> {
+                subscribers.remove(subscriber);
+                return subscribers.isEmpty() ? null : subscribers;
+            });
+        }
+    }
+
+    // Only flags the heartbeat; the write happens on a dispatcher thread like any other send
+    private void requestHeartbeats() {
+        subscribersByUser.values().forEach(subscribers -> subscribers.forEach(Subscriber::offerHeartbeat));
+    }
+
+    private static String eventId(BalanceEvent event) {
+        LocalDateTime updatedAt = event.getUpdatedAt();
+        return updatedAt != null
+                ? String.valueOf(updatedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli())
+                : "0";
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeat.shutdownNow();
+        dispatcher.shutdownNow();
+        subscribersByUser.values().forEach(subscribers -> subscribers.forEach(subscriber -> subscriber.emitter.complete()));
+    }
+
+    private final class Subscriber {
+        private final Long userId;
+        private final SseEmitter emitter;
+        private final AtomicReference<BalanceEvent> pending = new AtomicReference<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private final AtomicBoolean removed = new AtomicBoolean();
+        private volatile boolean deleted;
+        private volatile boolean heartbeatDue;
+        private volatile BalanceEvent lastSent;
+
+        private Subscriber(Long userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+        }
+
+        // Coalesces to the newest value; the drain task is scheduled at most once at a time
+        private void offer(BalanceEvent event) {
+            pending.accumulateAndGet(event, (existing, candidate) -> isOlder(candidate, existing) ? existing : candidate);
+            schedule();
+        }
+
+        private void offerDeleted() {
+            deleted = true;
+            schedule();
+        }
+
+        // A subscriber still busy with an earlier send is skipped rather than queued behind it
+        private void offerHeartbeat() {
+            heartbeatDue = true;
+            schedule();
+        }
+
+        private void schedule() {
+            if (!removed.get() && scheduled.compareAndSet(false, true)) {
+                dispatcher.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                boolean heartbeat = heartbeatDue;
+                heartbeatDue = false;
+                BalanceEvent event = pending.getAndSet(null);
+                if (event != null && !isOlder(event, lastSent) && !sameBalance(event, lastSent)) {
+                    emitter.send(SseEmitter.event()
+                            .id(eventId(event))
+                            .name(EVENT_NAME)
+                            .data(event, MediaType.APPLICATION_JSON));
+                    lastSent = event;
+                } else if (heartbeat && !deleted) {
+                    emitter.send(SseEmitter.event().comment("heartbeat"));
+                }
+                if (deleted) {
+                    emitter.send(SseEmitter.event().name(DELETED_EVENT_NAME).data(userId));
+                    emitter.complete();
+                    remove(this);
+                }
+            } catch (IOException | IllegalStateException e) {
+                log.debug("Dropping balance subscriber for user {}: {}", userId, e.getMessage());
+                emitter.completeWithError(e);
+                remove(this);
+            } finally {
+                scheduled.set(false);
+            }
+            // An offer may have landed after getAndSet but before the flag was cleared
+            if ((pending.get() != null || heartbeatDue) && !removed.get()) {
+                schedule();
+            }
+        }
+
+        private boolean isOlder(BalanceEvent event, BalanceEvent other) {
+            return other != null && event.getUpdatedAt() != null && other.getUpdatedAt() != null
+                    && event.getUpdatedAt().isBefore(other.getUpdatedAt());
+        }
+
+        private boolean sameBalance(BalanceEvent event, BalanceEvent previous) {
+            return previous != null
+                    && event.getPoints().equals(previous.getPoints())
+                    && event.getMembershipLevel() == previous.getMembershipLevel();
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.example.swagger.service;
+
+import com.example.swagger.dto.CatalogItem;
+import com.example.swagger.model.Product;
+import com.example.swagger.repository.ProductRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Product catalog (PRD 3.5).
+ * <p>
+ * Reads are served from an immutable snapshot that is rebuilt and swapped in whole after a product change commits, so
+ * browsing never queries SQLite. Stock lives in one atomic counter per tracked product: checkout reserves units with a
+ * CAS and gives them back if its transaction rolls back, and the products row is only adjusted relatively.
+ */
+@Service
+public class CatalogService implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogService.class);
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    private final ConcurrentHashMap<Long, AtomicInteger> stockByProduct = new ConcurrentHashMap<>();
+    private volatile CatalogSnapshot snapshot = new CatalogSnapshot(List.of(), Map.of());
+
+    public List<CatalogItem> getCatalog() {
+        return snapshot.items;
+    }
+
+    // Active products only
+    public Optional<CatalogItem> getProduct(Long id) {
+        return Optional.ofNullable(snapshot.itemsById.get(id));
+    }
+
+    @Transactional
+    public Product createProduct(Product product) {
+        product.setId(null);
+        Product savedProduct = productRepository.save(product);
+        refreshAfterCommit();
+        return savedProduct;
+    }
+
+    // Stock is left alone here; it only moves through restock and checkout so the counters stay authoritative
+    @Transactional
+    public Product updateProduct(Long id, Product productDetails) {
+        Product product = productRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Product not found with id: " + id));
+        product.setName(productDetails.getName());
+        product.setDescription(productDetails.getDescription());
+        product.setPricePoints(productDetails.getPricePoints());
+        product.setImageUrl(productDetails.getImageUrl());
+        if (productDetails.getActive() != null) {
+            product.setActive(productDetails.getActive());
+        }
+        Product savedProduct = productRepository.save(product);
+        refreshAfterCommit();
+        return savedProduct;
+    }
+
+    @Transactional
+    public void restock(Long id, Integer quantity) {
+        if (quantity == null || quantity <= 0) {
+            throw new RuntimeException("Quantity must be positive");
+        }
+        Product product = productRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Product not found with id: " + id));
+        if (product.getStock() == null) {
+            throw new RuntimeException("Product does not track stock: " + id);
+        }
+        productRepository.adjustStock(id, quantity);
+        AtomicInteger counter = stockByProduct.get(id);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                counter.addAndGet(quantity);
+            }
+        });
+    }
+
+    /**
+     * Takes {@code quantity} units from the product's counter and records the decrement in the caller's transaction.
+     * The units are returned to the counter if that transaction rolls back.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void reserveStock(CatalogItem product, int quantity) {
+        AtomicInteger counter = stockByProduct.get(product.getId());
+        if (counter == null) {
+            return;
+        }
+        int available;
+        do {
+            available = counter.get();
+            if (available < quantity) {
+                throw new RuntimeException("Insufficient stock for " + product.getName() + ". Available: " + available);
+            }
+        } while (!counter.compareAndSet(available, available - quantity));
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    counter.addAndGet(quantity);
+                }
+            }
+        });
+        productRepository.adjustStock(product.getId(), -quantity);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        refresh();
+    }
+
+    private void refreshAfterCommit() {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                refresh();
+            }
+        });
+    }
+
+    // Serialized so an older reload can never replace a newer snapshot
+    private synchronized void refresh() {
+        List<Product> products = productRepository.findAll();
+        products.sort(Comparator.comparing(Product::getId));
+        List<CatalogItem> items = new ArrayList<>();
+        Map<Long, CatalogItem> itemsById = new HashMap<>();
+        for (Product product : products) {
+            // Existing counters already reflect in-flight reservations, so only new products seed from the row
+            AtomicInteger counter = product.getStock() != null
+                    ? stockByProduct.computeIfAbsent(product.getId(), id -> new AtomicInteger(product.getStock()))
+                    : null;
+            if (Boolean.TRUE.equals(product.getActive())) {
+                CatalogItem item = new CatalogItem(product, counter);
+                items.add(item);
+                itemsById.put(item.getId(), item);
+            }
+        }
+        snapshot = new CatalogSnapshot(List.copyOf(items), Map.copyOf(itemsById));
+        log.debug("Catalog snapshot rebuilt with {} active products", items.size());
+    }
+
+    private static final class CatalogSnapshot {
+        private final List<CatalogItem> items;
+        private final Map<Long, CatalogItem> itemsById;
+
+        private CatalogSnapshot(List<CatalogItem> items, Map<Long, CatalogItem> itemsById) {
+            this.items = items;
+            this.itemsById = itemsById;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.swagger.service;
+
+import com.example.swagger.dto.ChangeFeed;
+import com.example.swagger.event.UserChangedEvent.ChangeType;
+import com.example.swagger.model.User;
+import com.example.swagger.model.UserChange;
+import com.example.swagger.repository.UserChangeRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Transactional outbox for user mutations. {@link UserService} records a change inside the mutating transaction,
+ * and consumers tail the log by offset instead of polling {@code GET /users}.
+ */
+@Service
+public class ChangeLogService {
+
+    private static final Logger log = LoggerFactory.getLogger(ChangeLogService.class);
+
+    @Autowired
+    private UserChangeRepository userChangeRepository;
+
+    @Value("${app.changes.max-limit:1000}")
+    private int maxLimit;
+
+    @Value("${app.changes.retention-days:7}")
+    private int retentionDays;
+
+    // Must join the caller's transaction so the record commits or rolls back with the mutation
+    @Transactional(propagation = Propagation.MANDATORY)
+    public UserChange record(ChangeType changeType, User user, int pointsDelta) {
+        return userChangeRepository.save(new UserChange(
+                user.getId(), changeType, user.getPoints(), pointsDelta, user.getMembershipLevel()));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public UserChange recordDeletion(Long userId) {
+        return userChangeRepository.save(new UserChange(userId, ChangeType.DELETED, null, 0, null));
+    }
+
+    public ChangeFeed getChanges(Long after, int limit) {
+        if (limit < 1 || limit > maxLimit) {
+            throw new RuntimeException("Limit must be between 1 and " + maxLimit);
+        }
+        long offset = after != null ? after : 0L;
+        // Read one extra row to tell the consumer whether to keep going
+        List<UserChange> changes = userChangeRepository.findByIdGreaterThanOrderByIdAsc(
+                offset, PageRequest.of(0, limit + 1));
+        boolean hasMore = changes.size() > limit;
+        if (hasMore) {
+            changes = changes.subList(0, limit);
+        }
+        Long nextOffset = changes.isEmpty() ? offset : changes.get(changes.size() - 1).getId();
+        return new ChangeFeed(changes, nextOffset, hasMore);
+    }
+
+    @Scheduled(
+        initialDelayString = "${app.changes.compaction-interval-ms:3600000}",
+        fixedDelayString = "${app.changes.compaction-interval-ms:3600000}"
+    )
+    @Transactional
+    public void compact() {
+        int deleted = userChangeRepository.deleteSupersededBefore(LocalDateTime.now().minusDays(retentionDays));
+        if (deleted > 0) {
+            log.info("Compacted {} superseded user change records", deleted);
+        }
+    }
+}
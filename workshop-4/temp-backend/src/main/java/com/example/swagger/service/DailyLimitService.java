@@ -0,0 +1,170 @@
+package com.example.swagger.service;
+
+import com.example.swagger.config.DailyCapProperties;
+import com.example.swagger.model.PointsLedgerEntry;
+import com.example.swagger.model.PointsLedgerEntry.EntryType;
+import com.example.swagger.model.User;
+import com.example.swagger.repository.PointsLedgerRepository;
+import com.example.swagger.util.SlidingWindowCounter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Enforces the per-tier daily spend and transfer caps with in-memory 24-hour sliding windows.
+ * A check is a lock-free add and a scan of the user's buckets, not a query. Windows are rebuilt from the points ledger
+ * before the web server starts, and a reservation made inside a transaction is reversed if that transaction rolls back.
+ */
+@Service
+public class DailyLimitService implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(DailyLimitService.class);
+
+    private static final long WINDOW_MILLIS = TimeUnit.DAYS.toMillis(1);
+
+    public enum CapType {
+        SPEND("Daily spending cap"),
+        TRANSFER("Daily transfer cap");
+
+        private final String label;
+
+        CapType(String label) {
+            this.label = label;
+        }
+    }
+
+    @Autowired
+    private DailyCapProperties dailyCapProperties;
+
+    @Autowired
+    private PointsLedgerRepository pointsLedgerRepository;
+
+    private final Map<CapType, ConcurrentHashMap<Long, Window>> windows = new EnumMap<>(CapType.class);
+
+    public DailyLimitService() {
+        for (CapType capType : CapType.values()) {
+            windows.put(capType, new ConcurrentHashMap<>());
+        }
+    }
+
+    /**
+     * Counts {@code amount} against the user's cap, or throws if that would exceed it.
+     * The amount is added before the cap is checked, so concurrent requests can never over-admit together.
+     */
+    public void reserve(CapType capType, User user, int amount) {
+        if (amount <= 0) {
+            return;
+        }
+        ConcurrentHashMap<Long, Window> byUser = windows.get(capType);
+        long now = System.currentTimeMillis();
+        SlidingWindowCounter window;
+        long bucket;
+        while (true) {
+            Window candidate = byUser.computeIfAbsent(user.getId(), id -> newWindow());
+            window = candidate.counter;
+            bucket = window.add(now, amount);
+            // Checked after the add: an earlier sweep has retired the window, a later one sees the add
+            if (!candidate.retired) {
+                break;
+            }
+            window.subtract(bucket, amount);
+        }
+        Integer cap = capFor(capType, user.getMembershipLevel());
+        if (cap != null && window.sum(now) > cap) {
+            window.subtract(bucket, amount);
+            long remaining = Math.max(0, cap - window.sum(now));
+            throw new RuntimeException(capType.label + " exceeded. Remaining today: " + remaining);
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            SlidingWindowCounter reserved = window;
+            long reservedBucket = bucket;
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        reserved.subtract(reservedBucket, amount);
+                    }
+                }
+            });
+        }
+    }
+
+    public long getUsedToday(CapType capType, Long userId) {
+        Window window = windows.get(capType).get(userId);
+        return window != null ? window.counter.sum(System.currentTimeMillis()) : 0;
+    }
+
+    private Integer capFor(CapType capType, User.MembershipLevel level) {
+        Map<User.MembershipLevel, Integer> caps = capType == CapType.SPEND
+                ? dailyCapProperties.getSpend()
+                : dailyCapProperties.getTransfer();
+        return caps.get(level);
+    }
+
+    private Window newWindow() {
+        long bucketMillis = TimeUnit.MINUTES.toMillis(dailyCapProperties.getBucketMinutes());
+        return new Window(new SlidingWindowCounter((int) (WINDOW_MILLIS / bucketMillis), bucketMillis));
+    }
+
+    // Replays the last day of ledger debits so caps hold across restarts
+    @Override
+    public void afterSingletonsInstantiated() {
+        List<PointsLedgerEntry> entries = pointsLedgerRepository.findByTypeInAndCreatedAtGreaterThanEqual(
+                List.of(EntryType.SPEND, EntryType.TRANSFER_OUT), LocalDateTime.now().minusDays(1));
+        for (PointsLedgerEntry entry : entries) {
+            // Outgoing amounts are negative; a row outside that range cannot be negated and would lower the window
+            if (entry.getAmount() >= 0 || entry.getAmount() == Integer.MIN_VALUE) {
+                continue;
+            }
+            CapType capType = entry.getType() == EntryType.SPEND ? CapType.SPEND : CapType.TRANSFER;
+            long time = entry.getCreatedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+            Window window = windows.get(capType).computeIfAbsent(entry.getUserId(), id -> newWindow());
+            window.counter.add(time, -entry.getAmount());
+        }
+        log.info("Rebuilt daily cap windows from {} ledger entries", entries.size());
+    }
+
+    // Retires a window before the last emptiness check, so a reserve that added concurrently either shows up in the sum
+    // or sees the flag and retries on a fresh window
+    @Scheduled(fixedDelay = 1, timeUnit = TimeUnit.HOURS)
+    public void evictIdleWindows() {
+        long now = System.currentTimeMillis();
+        for (ConcurrentHashMap<Long, Window> byUser : windows.values()) {
+            for (Long userId : byUser.keySet()) {
+                byUser.computeIfPresent(userId, (id, window) -> {
+                    if (window.counter.sum(now) != 0) {
+                        return window;
+                    }
+                    window.retired = true;
+                    if (window.counter.sum(now) != 0) {
+                        window.retired = false;
+                        return window;
+                    }
+                    return null;
+                });
+            }
+        }
+    }
+
+    private static final class Window {
+        private final SlidingWindowCounter counter;
+        private volatile boolean retired;
+
+        private Window(SlidingWindowCounter counter) {
+            this.counter = counter;
+        }
+    }
+}
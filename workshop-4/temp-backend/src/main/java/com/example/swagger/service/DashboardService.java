@@ -0,0 +1,116 @@
+package com.example.swagger.service;
+
+import com.example.swagger.dto.Dashboard;
+import com.example.swagger.model.PaymentRequest;
+import com.example.swagger.model.PointsLedgerEntry;
+import com.example.swagger.model.User;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Builds {@code GET /users/{id}/dashboard}. The parts are fetched concurrently on a small bounded pool, each with its own
+ * timeout, so the response takes as long as the slowest part and a slow or failing part is reported instead of failing
+ * the whole dashboard. Only a missing user fails the request.
+ */
+@Service
+public class DashboardService {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private HistoryService historyService;
+
+    @Autowired
+    private PaymentRequestService paymentRequestService;
+
+    @Value("${app.dashboard.activity-limit:5}")
+    private int activityLimit;
+
+    @Value("${app.dashboard.timeout-ms.user:500}")
+    private long userTimeoutMs;
+
+    @Value("${app.dashboard.timeout-ms.recent-activity:300}")
+    private long recentActivityTimeoutMs;
+
+    @Value("${app.dashboard.timeout-ms.notifications:200}")
+    private long notificationsTimeoutMs;
+
+    private final ThreadPoolExecutor executor;
+
+    public DashboardService(
+            @Value("${app.dashboard.threads:8}") int threads,
+            @Value("${app.dashboard.queue-capacity:256}") int queueCapacity) {
+        this.executor = new ThreadPoolExecutor(
+                threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory("dashboard-"),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    public Dashboard getDashboard(Long userId) {
+        CompletableFuture<Optional<User>> user =
+                part(() -> userService.getUserById(userId), userTimeoutMs);
+        CompletableFuture<List<PointsLedgerEntry>> recentActivity =
+                part(() -> historyService.getRecentActivity(userId, activityLimit), recentActivityTimeoutMs);
+        CompletableFuture<List<PaymentRequest>> notifications =
+                part(() -> paymentRequestService.getPendingForRecipient(userId), notificationsTimeoutMs);
+
+        Map<String, String> errors = new LinkedHashMap<>();
+        Optional<User> loadedUser = await("user", user, errors);
+        if (loadedUser != null && loadedUser.isEmpty()) {
+            throw new RuntimeException("User not found with id: " + userId);
+        }
+        return new Dashboard(
+                loadedUser != null ? loadedUser.get() : null,
+                await("recentActivity", recentActivity, errors),
+                await("notifications", notifications, errors),
+                errors);
+    }
+
+    private <T> CompletableFuture<T> part(Supplier<T> supplier, long timeoutMs) {
+        try {
+            return CompletableFuture.supplyAsync(supplier, executor).orTimeout(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    // All parts started together, so waiting on them in turn still takes only as long as the slowest one
+    private <T> T await(String name, CompletableFuture<T> future, Map<String, String> errors) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            if (cause instanceof TimeoutException) {
+                errors.put(name, "Timed out");
+            } else if (cause instanceof RejectedExecutionException) {
+                errors.put(name, "Server busy");
+            } else {
+                errors.put(name, cause.getMessage());
+            }
+            return null;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
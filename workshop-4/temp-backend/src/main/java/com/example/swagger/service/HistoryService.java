@@ -0,0 +1,103 @@
+package com.example.swagger.service;
+
+import com.example.swagger.cache.RecentActivityCache;
+import com.example.swagger.dto.HistoryPage;
+import com.example.swagger.model.PointsLedgerEntry;
+import com.example.swagger.model.PointsLedgerEntry.EntryType;
+import com.example.swagger.repository.PointsLedgerRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.EnumSet;
+import java.util.List;
+
+/**
+ * Points history (PRD 3.1-3.2). Full history is keyset-paginated over {@code (user_id, created_at, id)}, so every page
+ * is an index seek no matter how deep the user scrolls; recent activity comes from {@link RecentActivityCache}.
+ */
+@Service
+public class HistoryService {
+
+    public enum HistoryFilter {
+        ALL(EnumSet.allOf(EntryType.class)),
+        EARN(EnumSet.of(EntryType.EARN)),
+        SPEND(EnumSet.of(EntryType.SPEND)),
+        TRANSFER(EnumSet.of(EntryType.TRANSFER_IN, EntryType.TRANSFER_OUT));
+
+        private final EnumSet<EntryType> types;
+
+        HistoryFilter(EnumSet<EntryType> types) {
+            this.types = types;
+        }
+    }
+
+    @Autowired
+    private PointsLedgerRepository pointsLedgerRepository;
+
+    @Autowired
+    private RecentActivityCache recentActivityCache;
+
+    @Autowired
+    private UserService userService;
+
+    @Value("${app.history.max-limit:100}")
+    private int maxLimit;
+
+    public HistoryPage getHistory(Long userId, HistoryFilter filter, String cursor, int limit) {
+        if (limit < 1 || limit > maxLimit) {
+            throw new RuntimeException("Limit must be between 1 and " + maxLimit);
+        }
+        PageRequest page = PageRequest.of(0, limit + 1);
+        List<PointsLedgerEntry> entries;
+        if (cursor == null || cursor.isBlank()) {
+            entries = pointsLedgerRepository.findHistory(userId, filter.types, page);
+        } else {
+            long[] position = parseCursor(cursor);
+            LocalDateTime createdAt = LocalDateTime.ofInstant(Instant.ofEpochMilli(position[0]), ZoneId.systemDefault());
+            entries = pointsLedgerRepository.findHistoryBefore(userId, filter.types, createdAt, position[1], page);
+        }
+        boolean hasMore = entries.size() > limit;
+        if (hasMore) {
+            entries = entries.subList(0, limit);
+        }
+        String nextCursor = hasMore ? cursorOf(entries.get(entries.size() - 1)) : null;
+        return new HistoryPage(entries, nextCursor, hasMore);
+    }
+
+    public List<PointsLedgerEntry> getRecentActivity(Long userId, int limit) {
+        if (limit < 1 || limit > recentActivityCache.getSize()) {
+            throw new RuntimeException("Limit must be between 1 and " + recentActivityCache.getSize());
+        }
+        // Only the first read for a user touches the database
+        if (!recentActivityCache.contains(userId) && !userService.existsById(userId)) {
+            throw new RuntimeException("User not found with id: " + userId);
+        }
+        return recentActivityCache.getRecent(userId, limit);
+    }
+
+    // Cursor format: <createdAt epoch millis>-<id> of the last entry on the previous page
+    private static String cursorOf(PointsLedgerEntry entry) {
+        long createdAt = entry.getCreatedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        return createdAt + "-" + entry.getId();
+    }
+
+    private static long[] parseCursor(String cursor) {
+        int separator = cursor.indexOf('-');
+        try {
+            if (separator > 0) {
+                return new long[] {
+                    Long.parseLong(cursor.substring(0, separator)),
+                    Long.parseLong(cursor.substring(separator + 1))
+                };
+            }
+        } catch (NumberFormatException e) {
+            // Fall through to the error below
+        }
+        throw new RuntimeException("Invalid cursor: " + cursor);
+    }
+}
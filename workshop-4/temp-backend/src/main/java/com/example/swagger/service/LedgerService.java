@@ -0,0 +1,40 @@
+package com.example.swagger.service;
+
+import com.example.swagger.cache.RecentActivityCache;
+import com.example.swagger.model.PointsLedgerEntry;
+import com.example.swagger.model.PointsLedgerEntry.EntryType;
+import com.example.swagger.model.User;
+import com.example.swagger.repository.PointsLedgerRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Writes immutable points ledger entries alongside every balance movement.
+ */
+@Service
+public class LedgerService {
+
+    @Autowired
+    private PointsLedgerRepository pointsLedgerRepository;
+
+    @Autowired
+    private RecentActivityCache recentActivityCache;
+
+    // Must join the caller's transaction so the entry commits or rolls back with the balance change
+    @Transactional(propagation = Propagation.MANDATORY)
+    public PointsLedgerEntry record(User user, EntryType type, int amount, String reference) {
+        PointsLedgerEntry entry = pointsLedgerRepository.save(
+                new PointsLedgerEntry(user.getId(), type, amount, user.getPoints(), reference));
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                recentActivityCache.append(entry);
+            }
+        });
+        return entry;
+    }
+}
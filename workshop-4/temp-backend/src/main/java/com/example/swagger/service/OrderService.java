@@ -0,0 +1,102 @@
+package com.example.swagger.service;
+
+import com.example.swagger.dto.CatalogItem;
+import com.example.swagger.dto.CheckoutItem;
+import com.example.swagger.model.Order;
+import com.example.swagger.model.OrderItem;
+import com.example.swagger.model.User;
+import com.example.swagger.repository.OrderRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+@Service
+public class OrderService {
+
+    @Autowired
+    private CatalogService catalogService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private SmsReceiptService smsReceiptService;
+
+    @Value("${app.orders.max-lines:100}")
+    private int maxLines;
+
+    public Optional<Order> getOrderById(Long id) {
+        return orderRepository.findById(id);
+    }
+
+    /**
+     * Prices the cart from the catalog snapshot, reserves stock, stores the order, debits the points and queues the SMS
+     * receipt, all in one transaction. Any failure rolls back the order and the debit and returns the reserved units.
+     * The receipt goes to the attached customer's phone, or the member's own phone when no customer is attached.
+     */
+    @Transactional
+    public Order checkout(Long userId, List<CheckoutItem> items, String customerName, String customerPhone) {
+        if (items == null || items.isEmpty()) {
+            throw new RuntimeException("Cart is empty");
+        }
+        if (items.size() > maxLines) {
+            throw new RuntimeException("Cart has " + items.size() + " lines, the maximum is " + maxLines);
+        }
+        String receiptPhone = customerPhone != null && !customerPhone.isBlank()
+                ? smsReceiptService.normalizePhone(customerPhone)
+                : null;
+        Map<Long, Integer> quantities = new LinkedHashMap<>();
+        for (CheckoutItem item : items) {
+            if (item.getQuantity() == null || item.getQuantity() <= 0) {
+                throw new RuntimeException("Quantity must be positive for product: " + item.getProductId());
+            }
+            quantities.merge(item.getProductId(), item.getQuantity(), Integer::sum);
+        }
+
+        List<OrderItem> lines = new ArrayList<>(quantities.size());
+        int totalPoints = 0;
+        for (Map.Entry<Long, Integer> entry : quantities.entrySet()) {
+            CatalogItem product = catalogService.getProduct(entry.getKey())
+                    .orElseThrow(() -> new RuntimeException("Product not found with id: " + entry.getKey()));
+            try {
+                totalPoints = Math.addExact(totalPoints, Math.multiplyExact(product.getPricePoints(), entry.getValue()));
+            } catch (ArithmeticException e) {
+                throw new RuntimeException("Order total is too large");
+            }
+            catalogService.reserveStock(product, entry.getValue());
+            lines.add(new OrderItem(product.getId(), product.getName(), product.getPricePoints(), entry.getValue()));
+        }
+
+        Order order = orderRepository.save(new Order(userId, totalPoints, customerName, customerPhone, lines));
+        User user = userService.deductPoints(userId, totalPoints, "order:" + order.getId());
+        if (receiptPhone == null) {
+            receiptPhone = memberPhone(user);
+        }
+        if (receiptPhone != null) {
+            smsReceiptService.enqueueReceipt(order, receiptPhone, user.getPoints());
+        }
+        return order;
+    }
+
+    // A missing or malformed profile phone skips the receipt instead of failing a paid checkout
+    private String memberPhone(User user) {
+        if (user.getPhone() == null || user.getPhone().isBlank()) {
+            return null;
+        }
+        try {
+            return smsReceiptService.normalizePhone(user.getPhone());
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,232 @@
+package com.example.swagger.service;
+
+import com.example.swagger.model.PaymentRequest;
+import com.example.swagger.model.PaymentRequest.Status;
+import com.example.swagger.repository.PaymentRequestRepository;
+import com.example.swagger.util.HashedTimerWheel;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * QR payment requests (PRD 3.4).
+ * <p>
+ * Pending requests live only in memory and each one expires through a single hashed timer wheel, so there is no table scan
+ * and no scheduled task per request. Paying is one transaction that moves the points and inserts the PAID row; expired
+ * requests are written in batches. Pending requests do not survive a restart and the recipient has to issue a new one.
+ */
+@Service
+public class PaymentRequestService {
+
+    private static final Logger log = LoggerFactory.getLogger(PaymentRequestService.class);
+
+    private enum State {
+        PENDING, PAYING, PAID, EXPIRED
+    }
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private PaymentRequestRepository paymentRequestRepository;
+
+    @Value("${app.payment-requests.default-expiry-seconds:300}")
+    private int defaultExpirySeconds;
+
+    @Value("${app.payment-requests.max-expiry-seconds:86400}")
+    private int maxExpirySeconds;
+
+    @Value("${app.payment-requests.max-pending:1000000}")
+    private int maxPending;
+
+    @Value("${app.payment-requests.flush-batch-size:1000}")
+    private int flushBatchSize;
+
+    private final ConcurrentHashMap<String, Pending> pendingById = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, Set<Pending>> pendingByRecipient = new ConcurrentHashMap<>();
+    private final Queue<Pending> expiredToFlush = new ConcurrentLinkedQueue<>();
+    private final HashedTimerWheel timerWheel;
+
+    public PaymentRequestService(
+            @Value("${app.payment-requests.timer-tick-ms:1000}") long tickMillis,
+            @Value("${app.payment-requests.timer-wheel-size:512}") int wheelSize) {
+        this.timerWheel = new HashedTimerWheel("payment-request-expiry", tickMillis, wheelSize);
+    }
+
+    public PaymentRequest createRequest(Long recipientId, Integer amount, String memo, Integer expiresInSeconds) {
+        if (amount == null || amount <= 0) {
+            throw new RuntimeException("Amount must be positive");
+        }
+        int expirySeconds = expiresInSeconds != null ? expiresInSeconds : defaultExpirySeconds;
+        if (expirySeconds < 1 || expirySeconds > maxExpirySeconds) {
+            throw new RuntimeException("Expiry must be between 1 and " + maxExpirySeconds + " seconds");
+        }
+        if (!userService.existsById(recipientId)) {
+            throw new RuntimeException("User not found with id: " + recipientId);
+        }
+        if (pendingById.size() >= maxPending) {
+            throw new RuntimeException("Too many pending payment requests, please retry later");
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        Pending pending = new Pending(new PaymentRequest(
+                UUID.randomUUID().toString(), recipientId, amount, memo, now, now.plusSeconds(expirySeconds)));
+        pending.timeout = timerWheel.schedule(() -> expire(pending), expirySeconds * 1000L);
+        pendingById.put(pending.request.getId(), pending);
+        pendingByRecipient.computeIfAbsent(recipientId, id -> ConcurrentHashMap.newKeySet()).add(pending);
+        return pending.request;
+    }
+
+    // Requests the user is still waiting to be paid, newest first; served from memory
+    public List<PaymentRequest> getPendingForRecipient(Long recipientId) {
+        Set<Pending> pending = pendingByRecipient.get(recipientId);
+        if (pending == null) {
+            return List.of();
+        }
+        return pending.stream()
+                .filter(p -> p.outcome == null)
+                .map(p -> p.request)
+                .sorted(Comparator.comparing(PaymentRequest::getCreatedAt).reversed())
+                .toList();
+    }
+
+    public PaymentRequest getRequest(String id) {
+        Pending pending = pendingById.get(id);
+        if (pending != null) {
+            PaymentRequest outcome = pending.outcome;
+            return outcome != null ? outcome : pending.request;
+        }
+        return paymentRequestRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Payment request not found with id: " + id));
+    }
+
+    /**
+     * Pays a pending request: debits the payer, credits the recipient and stores the PAID row in one transaction.
+     * The PENDING to PAYING transition is a CAS, so two payers racing for the same QR code cannot both be charged.
+     */
+    @Transactional
+    public PaymentRequest pay(String id, Long payerId) {
+        Pending pending = pendingById.get(id);
+        if (pending == null) {
+            PaymentRequest settled = paymentRequestRepository.findById(id)
+                    .orElseThrow(() -> new RuntimeException("Payment request not found with id: " + id));
+            throw new RuntimeException(settledMessage(settled.getStatus()));
+        }
+        if (pending.outcome != null) {
+            throw new RuntimeException(settledMessage(pending.outcome.getStatus()));
+        }
+        if (!LocalDateTime.now().isBefore(pending.request.getExpiresAt())) {
+            throw new RuntimeException(settledMessage(Status.EXPIRED));
+        }
+        if (!pending.state.compareAndSet(State.PENDING, State.PAYING)) {
+            throw new RuntimeException("Payment request is already being paid");
+        }
+        PaymentRequest request = pending.request;
+        PaymentRequest paid = request.withOutcome(Status.PAID, payerId, LocalDateTime.now());
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    pending.state.set(State.PAID);
+                    pending.outcome = paid;
+                    pending.timeout.cancel();
+                    remove(pending);
+                } else {
+                    pending.state.set(State.PENDING);
+                    // The timer skips a request that is being paid, so catch up if it fell due meanwhile
+                    if (!LocalDateTime.now().isBefore(pending.request.getExpiresAt())) {
+                        expire(pending);
+                    }
+                }
+            }
+        });
+
+        userService.transferPoints(payerId, request.getRecipientId(), request.getAmount(), "payment-request:" + id);
+        return paymentRequestRepository.save(paid);
+    }
+
+    public int getPendingCount() {
+        return timerWheel.getPending();
+    }
+
+    // Runs on the timer thread, so it only flips state and queues the row for the next flush
+    private void expire(Pending pending) {
+        if (pending.state.compareAndSet(State.PENDING, State.EXPIRED)) {
+            pending.outcome = pending.request.withOutcome(Status.EXPIRED, null, LocalDateTime.now());
+            expiredToFlush.add(pending);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.payment-requests.flush-interval-ms:1000}")
+    public void flushExpired() {
+        List<Pending> batch = new ArrayList<>();
+        Pending pending;
+        while (batch.size() < flushBatchSize && (pending = expiredToFlush.poll()) != null) {
+            batch.add(pending);
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            paymentRequestRepository.saveAll(batch.stream().map(p -> p.outcome).toList());
+            // Readers see the in-memory outcome until the row is committed
+            batch.forEach(this::remove);
+        } catch (RuntimeException e) {
+            log.warn("Failed to persist {} expired payment requests, will retry", batch.size(), e);
+            expiredToFlush.addAll(batch);
+        }
+    }
+
+    private void remove(Pending pending) {
+        pendingById.remove(pending.request.getId());
+        pendingByRecipient.computeIfPresent(pending.request.getRecipientId(), (id, requests) -> {
+            requests.remove(pending);
+            return requests.isEmpty() ? null : requests;
+        });
+    }
+
+    private static String settledMessage(Status status) {
+        return status == Status.PAID ? "Payment request has already been paid" : "Payment request has expired";
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        timerWheel.stop();
+        while (!expiredToFlush.isEmpty()) {
+            int before = expiredToFlush.size();
+            flushExpired();
+            if (expiredToFlush.size() >= before) {
+                break;
+            }
+        }
+    }
+
+    private static final class Pending {
+        private final PaymentRequest request;
+        private final AtomicReference<State> state = new AtomicReference<>(State.PENDING);
+        private volatile PaymentRequest outcome;
+        private volatile HashedTimerWheel.Timeout timeout;
+
+        private Pending(PaymentRequest request) {
+            this.request = request;
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.swagger.service;
+
+import com.example.swagger.model.SmsReceipt;
+import com.example.swagger.sms.SmsMessage;
+import com.example.swagger.sms.SmsProvider;
+import com.example.swagger.sms.SmsSendResult;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Drains the SMS receipt queue. Each poll claims due receipts in batches and hands every batch to a bounded sender pool;
+ * a batch is only claimed when a sender is free, so a slow provider backs up in the table rather than in memory.
+ * Checkout never waits on any of this.
+ */
+@Component
+public class SmsDispatcher implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(SmsDispatcher.class);
+
+    @Autowired
+    private SmsReceiptService smsReceiptService;
+
+    @Autowired
+    private SmsProvider smsProvider;
+
+    @Value("${app.sms.batch-size:50}")
+    private int batchSize;
+
+    private final ThreadPoolExecutor senders;
+    private final Semaphore freeSenders;
+
+    public SmsDispatcher(@Value("${app.sms.sender-threads:4}") int senderThreads) {
+        this.senders = new ThreadPoolExecutor(
+                senderThreads, senderThreads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(senderThreads),
+                new CustomizableThreadFactory("sms-sender-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.freeSenders = new Semaphore(senderThreads);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        int recovered = smsReceiptService.recoverInFlight();
+        if (recovered > 0) {
+            log.info("Re-queued {} SMS receipts left in flight by the previous run", recovered);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.sms.poll-interval-ms:500}")
+    public void dispatch() {
+        while (freeSenders.tryAcquire()) {
+            List<SmsReceipt> batch;
+            try {
+                batch = smsReceiptService.claimDue(batchSize);
+            } catch (RuntimeException e) {
+                freeSenders.release();
+                log.warn("Failed to claim SMS receipts", e);
+                return;
+            }
+            if (batch.isEmpty()) {
+                freeSenders.release();
+                return;
+            }
+            senders.execute(() -> {
+                try {
+                    send(batch);
+                } finally {
+                    freeSenders.release();
+                }
+            });
+        }
+    }
+
+    private void send(List<SmsReceipt> batch) {
+        List<SmsMessage> messages = new ArrayList<>(batch.size());
+        for (SmsReceipt receipt : batch) {
+            messages.add(new SmsMessage(receipt.getId(), receipt.getPhone(), receipt.getMessage()));
+        }
+        List<Long> ids = batch.stream().map(SmsReceipt::getId).toList();
+        try {
+            List<SmsSendResult> results = smsProvider.sendBatch(messages);
+            smsReceiptService.recordResults(results);
+
+            Set<Long> answered = results.stream().map(SmsSendResult::getReceiptId).collect(Collectors.toSet());
+            List<Long> unanswered = ids.stream().filter(id -> !answered.contains(id)).toList();
+            if (!unanswered.isEmpty()) {
+                smsReceiptService.recordBatchFailure(unanswered, "No result from SMS provider");
+            }
+        } catch (RuntimeException e) {
+            log.warn("SMS batch of {} failed: {}", batch.size(), e.getMessage());
+            smsReceiptService.recordBatchFailure(ids, e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        senders.shutdown();
+        senders.awaitTermination(10, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,176 @@
+package com.example.swagger.service;
+
+import com.example.swagger.model.Order;
+import com.example.swagger.model.SmsReceipt;
+import com.example.swagger.model.SmsReceipt.Status;
+import com.example.swagger.repository.SmsReceiptRepository;
+import com.example.swagger.sms.SmsSendResult;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * State transitions of the SMS receipt queue. Each method is one short transaction; the sending itself happens in
+ * {@link SmsDispatcher}, outside any transaction.
+ */
+@Service
+public class SmsReceiptService {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    @Autowired
+    private SmsReceiptRepository smsReceiptRepository;
+
+    @Value("${app.sms.max-attempts:6}")
+    private int maxAttempts;
+
+    @Value("${app.sms.backoff-initial-ms:2000}")
+    private long backoffInitialMs;
+
+    @Value("${app.sms.backoff-max-ms:600000}")
+    private long backoffMaxMs;
+
+    @Value("${app.sms.receipt-link-base:http://localhost:3000/orders/}")
+    private String receiptLinkBase;
+
+    // Strips formatting and checks the length; invalid numbers fail checkout before anything is charged
+    public String normalizePhone(String phone) {
+        String digits = phone.replaceAll("[\\s\\-().]", "");
+        if (!digits.matches("\\+?\\d{9,15}")) {
+            throw new RuntimeException("Invalid phone number for SMS receipt: " + phone);
+        }
+        return digits;
+    }
+
+    // Joins the checkout transaction, so a receipt is queued if and only if the order commits
+    @Transactional(propagation = Propagation.MANDATORY)
+    public SmsReceipt enqueueReceipt(Order order, String phone, int balanceAfter) {
+        String message = "LBK Points: order #" + order.getId() + " paid, " + order.getTotalPoints()
+                + " points. Balance " + balanceAfter + " points. Receipt: " + receiptLinkBase + order.getId();
+        return smsReceiptRepository.save(new SmsReceipt(order.getId(), phone, message));
+    }
+
+    public Optional<SmsReceipt> getReceipt(Long id) {
+        return smsReceiptRepository.findById(id);
+    }
+
+    public List<SmsReceipt> getReceiptsForOrder(Long orderId) {
+        return smsReceiptRepository.findByOrderIdOrderByIdAsc(orderId);
+    }
+
+    // Single-instance claim: the app is the only writer of this SQLite file
+    @Transactional
+    public List<SmsReceipt> claimDue(int batchSize) {
+        List<SmsReceipt> due = smsReceiptRepository.findByStatusAndNextAttemptAtLessThanEqualOrderByNextAttemptAtAsc(
+                Status.PENDING, LocalDateTime.now(), PageRequest.of(0, batchSize));
+        for (SmsReceipt receipt : due) {
+            receipt.setStatus(Status.SENDING);
+            receipt.setAttempts(receipt.getAttempts() + 1);
+        }
+        return due;
+    }
+
+    @Transactional
+    public void recordResults(List<SmsSendResult> results) {
+        Map<Long, SmsReceipt> receiptsById = smsReceiptRepository.findAllById(results.stream().map(SmsSendResult::getReceiptId).toList())
+                .stream()
+                .collect(Collectors.toMap(SmsReceipt::getId, Function.identity()));
+        for (SmsSendResult result : results) {
+            SmsReceipt receipt = receiptsById.get(result.getReceiptId());
+            if (receipt == null || receipt.getStatus() != Status.SENDING) {
+                continue;
+            }
+            if (result.isAccepted()) {
+                receipt.setStatus(Status.SENT);
+                receipt.setProviderMessageId(result.getProviderMessageId());
+                receipt.setLastError(null);
+            } else {
+                fail(receipt, result.getError(), result.isRetryable());
+            }
+        }
+    }
+
+    @Transactional
+    public void recordBatchFailure(List<Long> receiptIds, String error) {
+        for (SmsReceipt receipt : smsReceiptRepository.findAllById(receiptIds)) {
+            if (receipt.getStatus() == Status.SENDING) {
+                fail(receipt, error, true);
+            }
+        }
+    }
+
+    /**
+     * Applies a provider delivery report. Reports are idempotent: anything arriving for a receipt that already moved on
+     * (delivered, dead, or queued for another attempt) is ignored.
+     */
+    @Transactional
+    public SmsReceipt handleStatusCallback(String providerMessageId, String status, String error) {
+        SmsReceipt receipt = smsReceiptRepository.findByProviderMessageId(providerMessageId)
+                .orElseThrow(() -> new RuntimeException(
+                        "SMS receipt not found for provider message id: " + providerMessageId));
+        if (!"DELIVERED".equals(status) && !"FAILED".equals(status)) {
+            throw new RuntimeException("Unsupported delivery status: " + status);
+        }
+        if (receipt.getStatus() != Status.SENT) {
+            return receipt;
+        }
+        if ("DELIVERED".equals(status)) {
+            receipt.setStatus(Status.DELIVERED);
+        } else {
+            receipt.setProviderMessageId(null);
+            fail(receipt, error != null ? error : "Delivery failed", true);
+        }
+        return receipt;
+    }
+
+    @Transactional
+    public SmsReceipt retryDead(Long id) {
+        SmsReceipt receipt = smsReceiptRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("SMS receipt not found with id: " + id));
+        if (receipt.getStatus() != Status.DEAD) {
+            throw new RuntimeException("Only DEAD receipts can be retried, receipt is " + receipt.getStatus());
+        }
+        receipt.setStatus(Status.PENDING);
+        receipt.setAttempts(0);
+        receipt.setNextAttemptAt(LocalDateTime.now());
+        return receipt;
+    }
+
+    // A crash mid-send leaves rows in SENDING; they are sent again, so delivery is at least once
+    @Transactional
+    public int recoverInFlight() {
+        return smsReceiptRepository.updateStatus(Status.SENDING, Status.PENDING);
+    }
+
+    private void fail(SmsReceipt receipt, String error, boolean retryable) {
+        receipt.setLastError(error != null && error.length() > MAX_ERROR_LENGTH
+                ? error.substring(0, MAX_ERROR_LENGTH)
+                : error);
+        if (!retryable || receipt.getAttempts() >= maxAttempts) {
+            receipt.setStatus(Status.DEAD);
+        } else {
+            receipt.setStatus(Status.PENDING);
+            receipt.setNextAttemptAt(LocalDateTime.now().plusNanos(backoffMillis(receipt.getAttempts()) * 1_000_000L));
+        }
+    }
+
+    // Exponential backoff with jitter in [delay / 2, delay] so receipts that failed together do not retry together
+    private long backoffMillis(int attempts) {
+        long delay = backoffMaxMs;
+        if (attempts - 1 < 31) {
+            delay = Math.min(backoffMaxMs, backoffInitialMs << (attempts - 1));
+        }
+        return delay / 2 + ThreadLocalRandom.current().nextLong(delay / 2 + 1);
+    }
+}
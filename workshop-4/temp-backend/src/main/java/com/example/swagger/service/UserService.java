@@ -1,13 +1,29 @@
 package com.example.swagger.service;
 
+import com.example.swagger.dto.PointsAdjustment;
+import com.example.swagger.dto.PointsAdjustmentResult;
+import com.example.swagger.event.UserChangedEvent;
+import com.example.swagger.event.UserChangedEvent.ChangeType;
+import com.example.swagger.model.PointsLedgerEntry.EntryType;
 import com.example.swagger.model.User;
 import com.example.swagger.repository.UserRepository;
+import com.example.swagger.service.DailyLimitService.CapType;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class UserService {
@@ -15,6 +31,21 @@ public class UserService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private ChangeLogService changeLogService;
+
+    @Autowired
+    private LedgerService ledgerService;
+
+    @Autowired
+    private DailyLimitService dailyLimitService;
+
+    @Value("${app.batch.max-size:1000}")
+    private int maxBatchSize;
+
     public List<User> getAllUsers() {
         return userRepository.findAll();
     }
@@ -23,28 +54,60 @@ public class UserService {
         return userRepository.findById(id);
     }
 
+    // Resolves all IDs with a single IN query; result follows the requested order, missing IDs are skipped
+    public List<User> getUsersByIds(List<Long> ids) {
+        checkBatchSize(ids.size());
+        Map<Long, User> usersById = userRepository.findAllById(new LinkedHashSet<>(ids)).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+
+        List<User> users = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            User user = usersById.get(id);
+            if (user != null) {
+                users.add(user);
+            }
+        }
+        return users;
+    }
+
+    @Transactional
     public User createUser(User user) {
         if (userRepository.existsByEmail(user.getEmail())) {
             throw new RuntimeException("Email already exists: " + user.getEmail());
         }
         
-        // Set default values if not provided
-        if (user.getMembershipLevel() == null) {
-            user.setMembershipLevel(User.MembershipLevel.BRONZE);
-        }
-        if (user.getPoints() == null) {
-            user.setPoints(0);
+        applyDefaults(user);
+        User savedUser = userRepository.save(user);
+        recordCreated(savedUser);
+        return savedUser;
+    }
+
+    // Creates all users in one transaction, so their inserts go out as JDBC batches; any taken email rejects the batch
+    @Transactional
+    public List<User> createUsers(List<User> users) {
+        checkBatchSize(users.size());
+        Set<String> emails = new HashSet<>();
+        for (User user : users) {
+            if (!emails.add(user.getEmail())) {
+                throw new RuntimeException("Duplicate email in batch: " + user.getEmail());
+            }
         }
-        if (user.getMemberSince() == null) {
-            user.setMemberSince(LocalDateTime.now());
+        List<String> existingEmails = userRepository.findEmailsIn(emails);
+        if (!existingEmails.isEmpty()) {
+            throw new RuntimeException("Email already exists: " + existingEmails.get(0));
         }
-        
-        return userRepository.save(user);
+
+        users.forEach(this::applyDefaults);
+        List<User> savedUsers = userRepository.saveAll(users);
+        savedUsers.forEach(this::recordCreated);
+        return savedUsers;
     }
 
+    @Transactional
     public User updateUser(Long id, User userDetails) {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("User not found with id: " + id));
+        int pointsBefore = user.getPoints();
 
         // Check if email is being changed and if new email already exists
         if (!user.getEmail().equals(userDetails.getEmail()) && 
@@ -68,13 +131,22 @@ public class UserService {
             user.setMemberSince(userDetails.getMemberSince());
         }
 
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        int pointsDelta = savedUser.getPoints() - pointsBefore;
+        if (pointsDelta != 0) {
+            ledgerService.record(savedUser, EntryType.ADJUSTMENT, pointsDelta, null);
+        }
+        publishChange(ChangeType.UPDATED, savedUser, pointsDelta);
+        return savedUser;
     }
 
+    @Transactional
     public void deleteUser(Long id) {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("User not found with id: " + id));
         userRepository.delete(user);
+        changeLogService.recordDeletion(id);
+        eventPublisher.publishEvent(new UserChangedEvent(ChangeType.DELETED, id, null));
     }
 
     public boolean existsById(Long id) {
@@ -82,31 +154,183 @@ public class UserService {
     }
 
     // Additional methods for points management
+    @Transactional
     public User addPoints(Long userId, Integer pointsToAdd) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new RuntimeException("User not found with id: " + userId));
+        int pointsBefore = user.getPoints();
         
         user.addPoints(pointsToAdd);
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        int pointsDelta = savedUser.getPoints() - pointsBefore;
+        if (pointsDelta != 0) {
+            ledgerService.record(savedUser, EntryType.EARN, pointsDelta, null);
+        }
+        publishChange(ChangeType.POINTS_CHANGED, savedUser, pointsDelta);
+        return savedUser;
     }
 
+    @Transactional
     public User deductPoints(Long userId, Integer pointsToDeduct) {
+        return deductPoints(userId, pointsToDeduct, null);
+    }
+
+    // The reference ties the SPEND ledger entry to what was bought, e.g. "order:42"
+    @Transactional
+    public User deductPoints(Long userId, Integer pointsToDeduct, String reference) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new RuntimeException("User not found with id: " + userId));
         
+        if (pointsToDeduct != null) {
+            // Released again if the deduction below fails and the transaction rolls back
+            dailyLimitService.reserve(CapType.SPEND, user, pointsToDeduct);
+        }
         if (!user.deductPoints(pointsToDeduct)) {
             throw new RuntimeException("Insufficient points. Current balance: " + user.getPoints());
         }
         
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        ledgerService.record(savedUser, EntryType.SPEND, -pointsToDeduct, reference);
+        publishChange(ChangeType.POINTS_CHANGED, savedUser, -pointsToDeduct);
+        return savedUser;
+    }
+
+    // Moves points between two users in one transaction, counted against the sender's daily transfer cap
+    @Transactional
+    public User transferPoints(Long fromUserId, Long toUserId, Integer points, String reference) {
+        if (points == null || points <= 0) {
+            throw new RuntimeException("Points must be positive");
+        }
+        if (fromUserId.equals(toUserId)) {
+            throw new RuntimeException("Cannot transfer points to the same user");
+        }
+        User fromUser = userRepository.findById(fromUserId)
+                .orElseThrow(() -> new RuntimeException("User not found with id: " + fromUserId));
+        User toUser = userRepository.findById(toUserId)
+                .orElseThrow(() -> new RuntimeException("User not found with id: " + toUserId));
+
+        dailyLimitService.reserve(CapType.TRANSFER, fromUser, points);
+        if (!fromUser.deductPoints(points)) {
+            throw new RuntimeException("Insufficient points. Current balance: " + fromUser.getPoints());
+        }
+        toUser.addPoints(points);
+
+        userRepository.saveAll(List.of(fromUser, toUser));
+        ledgerService.record(fromUser, EntryType.TRANSFER_OUT, -points, reference);
+        ledgerService.record(toUser, EntryType.TRANSFER_IN, points, reference);
+        publishChange(ChangeType.POINTS_CHANGED, fromUser, -points);
+        publishChange(ChangeType.POINTS_CHANGED, toUser, points);
+        return fromUser;
+    }
+
+    // Applies signed adjustments in one transaction; failures are reported per item and do not abort the batch
+    @Transactional
+    public List<PointsAdjustmentResult> adjustPointsBatch(List<PointsAdjustment> adjustments) {
+        checkBatchSize(adjustments.size());
+        Set<Long> ids = adjustments.stream()
+                .map(PointsAdjustment::getUserId)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        Map<Long, User> usersById = userRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+
+        List<PointsAdjustmentResult> results = new ArrayList<>(adjustments.size());
+        Set<User> changedUsers = new LinkedHashSet<>();
+        String capError;
+        for (PointsAdjustment adjustment : adjustments) {
+            User user = usersById.get(adjustment.getUserId());
+            int points = adjustment.getPoints();
+            if (user == null) {
+                results.add(PointsAdjustmentResult.failed(adjustment,
+                        "User not found with id: " + adjustment.getUserId(), null));
+            } else if (points == 0) {
+                results.add(PointsAdjustmentResult.failed(adjustment,
+                        "Points must not be zero", user.getPoints()));
+            } else if (points == Integer.MIN_VALUE) {
+                // -points would overflow back to a negative amount
+                results.add(PointsAdjustmentResult.failed(adjustment,
+                        "Points must be greater than " + Integer.MIN_VALUE, user.getPoints()));
+            } else if (points < 0 && user.getPoints() < -points) {
+                results.add(PointsAdjustmentResult.failed(adjustment,
+                        "Insufficient points. Current balance: " + user.getPoints(), user.getPoints()));
+            } else if (points < 0 && (capError = reserveSpend(user, -points)) != null) {
+                results.add(PointsAdjustmentResult.failed(adjustment, capError, user.getPoints()));
+            } else if (points < 0 && !user.deductPoints(-points)) {
+                results.add(PointsAdjustmentResult.failed(adjustment,
+                        "Insufficient points. Current balance: " + user.getPoints(), user.getPoints()));
+            } else {
+                if (points > 0) {
+                    try {
+                        user.setPoints(Math.addExact(user.getPoints(), points));
+                    } catch (ArithmeticException e) {
+                        // A wrapped balance would fail the points >= 0 check at flush and roll back the whole batch
+                        results.add(PointsAdjustmentResult.failed(adjustment,
+                                "Balance cannot exceed " + Integer.MAX_VALUE + " points", user.getPoints()));
+                        continue;
+                    }
+                }
+                changedUsers.add(user);
+                changeLogService.record(ChangeType.POINTS_CHANGED, user, points);
+                ledgerService.record(user, points > 0 ? EntryType.EARN : EntryType.SPEND, points, null);
+                results.add(PointsAdjustmentResult.applied(adjustment, user.getPoints()));
+            }
+        }
+
+        userRepository.saveAll(changedUsers);
+        changedUsers.forEach(user -> eventPublisher.publishEvent(
+                new UserChangedEvent(ChangeType.POINTS_CHANGED, user.getId(), user)));
+        return results;
     }
 
     // Method to upgrade membership level
+    @Transactional
     public User upgradeMembership(Long userId, User.MembershipLevel newLevel) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new RuntimeException("User not found with id: " + userId));
         
         user.setMembershipLevel(newLevel);
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        publishChange(ChangeType.UPDATED, savedUser, 0);
+        return savedUser;
+    }
+
+    private void applyDefaults(User user) {
+        if (user.getMembershipLevel() == null) {
+            user.setMembershipLevel(User.MembershipLevel.BRONZE);
+        }
+        if (user.getPoints() == null) {
+            user.setPoints(0);
+        }
+        if (user.getMemberSince() == null) {
+            user.setMemberSince(LocalDateTime.now());
+        }
+    }
+
+    private void recordCreated(User user) {
+        if (user.getPoints() != 0) {
+            ledgerService.record(user, EntryType.ADJUSTMENT, user.getPoints(), null);
+        }
+        publishChange(ChangeType.CREATED, user, user.getPoints());
+    }
+
+    // A cap rejection fails only that item, so it is reported instead of thrown
+    private String reserveSpend(User user, int points) {
+        try {
+            dailyLimitService.reserve(CapType.SPEND, user, points);
+            return null;
+        } catch (RuntimeException e) {
+            return e.getMessage();
+        }
+    }
+
+    private void checkBatchSize(int size) {
+        if (size > maxBatchSize) {
+            throw new RuntimeException("Batch size " + size + " exceeds the maximum of " + maxBatchSize);
+        }
+    }
+
+    // Records the change in the outbox (same transaction) and notifies after-commit listeners
+    private void publishChange(ChangeType changeType, User user, int pointsDelta) {
+        changeLogService.record(changeType, user, pointsDelta);
+        eventPublisher.publishEvent(new UserChangedEvent(changeType, user.getId(), user));
     }
 }
\ No newline at end of file
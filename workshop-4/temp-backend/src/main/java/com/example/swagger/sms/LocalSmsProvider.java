@@ -0,0 +1,61 @@
+package com.example.swagger.sms;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Stand-in provider for local runs and tests: logs each message instead of sending it. The number is masked, and the text,
+ * which carries the member's balance, is only logged at DEBUG.
+ * {@code app.sms.local.failure-rate} makes a share of sends fail with a retryable error to exercise the retry path.
+ */
+@Component
+@ConditionalOnProperty(name = "app.sms.provider", havingValue = "local", matchIfMissing = true)
+public class LocalSmsProvider implements SmsProvider {
+
+    private static final Logger log = LoggerFactory.getLogger(LocalSmsProvider.class);
+
+    @Value("${app.sms.local.failure-rate:0.0}")
+    private double failureRate;
+
+    @Value("${app.sms.local.latency-ms:0}")
+    private long latencyMs;
+
+    @Override
+    public List<SmsSendResult> sendBatch(List<SmsMessage> messages) {
+        if (latencyMs > 0) {
+            try {
+                Thread.sleep(latencyMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while sending SMS batch", e);
+            }
+        }
+        List<SmsSendResult> results = new ArrayList<>(messages.size());
+        for (SmsMessage message : messages) {
+            if (ThreadLocalRandom.current().nextDouble() < failureRate) {
+                results.add(SmsSendResult.rejected(message.getReceiptId(), "Simulated provider failure", true));
+            } else {
+                String providerMessageId = "local-" + UUID.randomUUID();
+                log.info("SMS to {} [{}]", maskPhone(message.getPhone()), providerMessageId);
+                log.debug("SMS text [{}]: {}", providerMessageId, message.getText());
+                results.add(SmsSendResult.accepted(message.getReceiptId(), providerMessageId));
+            }
+        }
+        return results;
+    }
+
+    private static String maskPhone(String phone) {
+        if (phone == null || phone.length() <= 4) {
+            return phone;
+        }
+        return "x".repeat(phone.length() - 4) + phone.substring(phone.length() - 4);
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.swagger.sms;
+
+/**
+ * One message handed to an {@link SmsProvider}; {@code receiptId} lets results be matched back to the queue row.
+ */
+public class SmsMessage {
+
+    private final Long receiptId;
+    private final String phone;
+    private final String text;
+
+    // Constructors
+    public SmsMessage(Long receiptId, String phone, String text) {
+        this.receiptId = receiptId;
+        this.phone = phone;
+        this.text = text;
+    }
+
+    // Getters
+    public Long getReceiptId() {
+        return receiptId;
+    }
+
+    public String getPhone() {
+        return phone;
+    }
+
+    public String getText() {
+        return text;
+    }
+}
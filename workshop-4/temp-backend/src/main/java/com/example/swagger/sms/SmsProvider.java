@@ -0,0 +1,12 @@
+package com.example.swagger.sms;
+
+import java.util.List;
+
+/**
+ * SMS vendor integration. Implementations send a batch in as few vendor calls as they can and return one result per
+ * message; throwing marks the whole batch for retry.
+ */
+public interface SmsProvider {
+
+    List<SmsSendResult> sendBatch(List<SmsMessage> messages);
+}
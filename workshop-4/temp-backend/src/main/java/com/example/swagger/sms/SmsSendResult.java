@@ -0,0 +1,50 @@
+package com.example.swagger.sms;
+
+/**
+ * Provider outcome for one message. A rejected message is retried only when {@code retryable} is set.
+ */
+public class SmsSendResult {
+
+    private final Long receiptId;
+    private final boolean accepted;
+    private final String providerMessageId;
+    private final String error;
+    private final boolean retryable;
+
+    private SmsSendResult(Long receiptId, boolean accepted, String providerMessageId, String error, boolean retryable) {
+        this.receiptId = receiptId;
+        this.accepted = accepted;
+        this.providerMessageId = providerMessageId;
+        this.error = error;
+        this.retryable = retryable;
+    }
+
+    public static SmsSendResult accepted(Long receiptId, String providerMessageId) {
+        return new SmsSendResult(receiptId, true, providerMessageId, null, false);
+    }
+
+    public static SmsSendResult rejected(Long receiptId, String error, boolean retryable) {
+        return new SmsSendResult(receiptId, false, null, error, retryable);
+    }
+
+    // Getters
+    public Long getReceiptId() {
+        return receiptId;
+    }
+
+    public boolean isAccepted() {
+        return accepted;
+    }
+
+    public String getProviderMessageId() {
+        return providerMessageId;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public boolean isRetryable() {
+        return retryable;
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.swagger.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hashed timer wheel for large numbers of coarse-grained timeouts.
+ * <p>
+ * Scheduling and cancelling are O(1) and lock-free: new timeouts go onto a queue that the single ticker thread moves into
+ * wheel buckets, and a cancelled timeout is only flagged and dropped when its bucket comes round. Each tick visits one
+ * bucket, so the cost does not depend on how many timeouts are outstanding elsewhere on the wheel. Tasks run on the
+ * ticker thread and must be short.
+ */
+public class HashedTimerWheel {
+
+    private static final Logger log = LoggerFactory.getLogger(HashedTimerWheel.class);
+
+    private final long tickNanos;
+    private final Queue<Timeout>[] wheel;
+    private final int mask;
+    private final Queue<Timeout> newTimeouts = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final Thread ticker;
+    private final long startNanos;
+    private volatile boolean running = true;
+
+    @SuppressWarnings("unchecked")
+    public HashedTimerWheel(String threadName, long tickMillis, int wheelSize) {
+        int size = Integer.highestOneBit(Math.max(wheelSize, 2) - 1) << 1;
+        this.tickNanos = TimeUnit.MILLISECONDS.toNanos(tickMillis);
+        this.wheel = new Queue[size];
+        for (int i = 0; i < size; i++) {
+            wheel[i] = new ArrayDeque<>();
+        }
+        this.mask = size - 1;
+        this.startNanos = System.nanoTime();
+        this.ticker = new Thread(this::run, threadName);
+        this.ticker.setDaemon(true);
+        this.ticker.start();
+    }
+
+    public Timeout schedule(Runnable task, long delayMillis) {
+        if (!running) {
+            throw new IllegalStateException("Timer wheel is stopped");
+        }
+        Timeout timeout = new Timeout(task, System.nanoTime() - startNanos + TimeUnit.MILLISECONDS.toNanos(delayMillis));
+        pending.incrementAndGet();
+        newTimeouts.add(timeout);
+        return timeout;
+    }
+
+    public int getPending() {
+        return pending.get();
+    }
+
+    public void stop() {
+        running = false;
+        ticker.interrupt();
+    }
+
+    private void run() {
+        long tick = 0;
+        while (running) {
+            long nextTickNanos = (tick + 1) * tickNanos;
+            long sleepNanos = nextTickNanos - (System.nanoTime() - startNanos);
+            if (sleepNanos > 0) {
+                try {
+                    TimeUnit.NANOSECONDS.sleep(sleepNanos);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+            transferNewTimeouts(tick);
+            expire(wheel[(int) (tick & mask)], nextTickNanos);
+            tick++;
+        }
+    }
+
+    private void transferNewTimeouts(long currentTick) {
+        Timeout timeout;
+        while ((timeout = newTimeouts.poll()) != null) {
+            if (timeout.isCancelled()) {
+                continue;
+            }
+            // A deadline that is already due lands in the current bucket
+            long targetTick = Math.max(timeout.deadlineNanos / tickNanos, currentTick);
+            timeout.remainingRounds = (targetTick - currentTick) / wheel.length;
+            wheel[(int) (targetTick & mask)].add(timeout);
+        }
+    }
+
+    private void expire(Queue<Timeout> bucket, long nowNanos) {
+        Iterator<Timeout> iterator = bucket.iterator();
+        while (iterator.hasNext()) {
+            Timeout timeout = iterator.next();
+            if (timeout.isCancelled()) {
+                iterator.remove();
+            } else if (timeout.remainingRounds <= 0 && timeout.deadlineNanos <= nowNanos) {
+                iterator.remove();
+                if (timeout.state.compareAndSet(false, true)) {
+                    pending.decrementAndGet();
+                    try {
+                        timeout.task.run();
+                    } catch (RuntimeException e) {
+                        log.warn("Timer task failed", e);
+                    }
+                }
+            } else {
+                timeout.remainingRounds--;
+            }
+        }
+    }
+
+    public final class Timeout {
+        private final Runnable task;
+        private final long deadlineNanos;
+        // Set by whichever of firing and cancelling happens first
+        private final AtomicBoolean state = new AtomicBoolean();
+        private volatile boolean cancelled;
+        private long remainingRounds;
+
+        private Timeout(Runnable task, long deadlineNanos) {
+            this.task = task;
+            this.deadlineNanos = deadlineNanos;
+        }
+
+        // Returns false if the task already ran
+        public boolean cancel() {
+            if (state.compareAndSet(false, true)) {
+                cancelled = true;
+                pending.decrementAndGet();
+                return true;
+            }
+            return false;
+        }
+
+        private boolean isCancelled() {
+            return cancelled;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.swagger.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free sliding-window sum over a ring of time buckets.
+ * Each slot packs the bucket number (high 32 bits) with the bucket's total (low 32 bits), so a slot that still holds an
+ * expired bucket is recognised and reset by the same CAS that adds to it.
+ */
+public class SlidingWindowCounter {
+
+    private final AtomicLongArray slots;
+    private final int bucketCount;
+    private final long bucketMillis;
+
+    public SlidingWindowCounter(int bucketCount, long bucketMillis) {
+        this.slots = new AtomicLongArray(bucketCount);
+        this.bucketCount = bucketCount;
+        this.bucketMillis = bucketMillis;
+    }
+
+    /**
+     * Adds {@code amount} to the bucket covering {@code timeMillis} and returns that bucket number,
+     * which {@link #subtract(long, int)} needs to reverse the addition exactly.
+     */
+    public long add(long timeMillis, int amount) {
+        long bucket = timeMillis / bucketMillis;
+        int index = (int) (bucket % bucketCount);
+        while (true) {
+            long current = slots.get(index);
+            long currentBucket = current >>> 32;
+            if (currentBucket > bucket) {
+                // The slot already moved on, so this bucket is outside the window
+                return bucket;
+            }
+            int total = currentBucket == bucket ? (int) current : 0;
+            if (slots.compareAndSet(index, current, pack(bucket, total + amount))) {
+                return bucket;
+            }
+        }
+    }
+
+    // No-op when the bucket has already rotated out of its slot
+    public void subtract(long bucket, int amount) {
+        int index = (int) (bucket % bucketCount);
+        while (true) {
+            long current = slots.get(index);
+            if (current >>> 32 != bucket) {
+                return;
+            }
+            if (slots.compareAndSet(index, current, pack(bucket, (int) current - amount))) {
+                return;
+            }
+        }
+    }
+
+    public long sum(long nowMillis) {
+        long newest = nowMillis / bucketMillis;
+        long oldest = newest - bucketCount + 1;
+        long sum = 0;
+        for (int i = 0; i < bucketCount; i++) {
+            long slot = slots.get(i);
+            long bucket = slot >>> 32;
+            if (bucket >= oldest && bucket <= newest) {
+                sum += (int) slot;
+            }
+        }
+        return sum;
+    }
+
+    private static long pack(long bucket, int total) {
+        return (bucket << 32) | (total & 0xffffffffL);
+    }
+}
@@ -0,0 +1,23 @@
+-- Users table, matching the schema Hibernate generated under ddl-auto=update so existing databases are unaffected
+CREATE TABLE IF NOT EXISTS users (
+    id integer,
+    created_at timestamp not null,
+    email varchar(255) not null unique,
+    first_name varchar(255) not null,
+    last_name varchar(255) not null,
+    member_since timestamp not null,
+    membership_level varchar(255) not null check (membership_level in ('BRONZE','SILVER','GOLD','PLATINUM')),
+    phone varchar(255),
+    points integer not null check (points>=0),
+    updated_at timestamp not null,
+    primary key (id)
+);
+
+-- Tier leaderboards and per-tier balance reports
+CREATE INDEX IF NOT EXISTS idx_users_level_points ON users (membership_level, points);
+
+-- Sign-up reports and newest-member listings
+CREATE INDEX IF NOT EXISTS idx_users_created_at ON users (created_at);
+
+-- Phone prefix lookups; NOCASE lets SQLite use the index for LIKE 'prefix%' under its default case-insensitive LIKE
+CREATE INDEX IF NOT EXISTS idx_users_phone ON users (phone COLLATE NOCASE);
@@ -0,0 +1,14 @@
+-- Transactional outbox tailed through GET /changes; the id is the consumer offset
+CREATE TABLE IF NOT EXISTS user_changes (
+    id integer,
+    change_type varchar(255) not null check (change_type in ('CREATED','UPDATED','POINTS_CHANGED','DELETED')),
+    created_at timestamp not null,
+    membership_level varchar(255) check (membership_level in ('BRONZE','SILVER','GOLD','PLATINUM')),
+    points integer,
+    points_delta integer,
+    user_id bigint not null,
+    primary key (id)
+);
+
+-- Compaction keeps the newest record per user
+CREATE INDEX IF NOT EXISTS idx_user_changes_user_id ON user_changes (user_id, id);
@@ -0,0 +1,5 @@
+-- Block reservations for PooledIdGenerator; the generator seeds each row from MAX(id) on first use
+CREATE TABLE IF NOT EXISTS id_sequences (
+    sequence_name varchar(255) not null primary key,
+    next_val bigint not null
+);
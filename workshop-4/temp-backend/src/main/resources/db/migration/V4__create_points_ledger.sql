@@ -0,0 +1,14 @@
+-- Immutable points ledger: one row per balance movement
+CREATE TABLE IF NOT EXISTS points_ledger (
+    id integer,
+    user_id bigint not null,
+    type varchar(255) not null check (type in ('EARN','SPEND','TRANSFER_IN','TRANSFER_OUT','ADJUSTMENT')),
+    amount integer not null,
+    balance_after integer not null,
+    reference varchar(255),
+    created_at timestamp not null,
+    primary key (id)
+);
+
+-- Rebuilding the daily cap windows on startup reads the last 24 hours by type
+CREATE INDEX IF NOT EXISTS idx_points_ledger_created_at ON points_ledger (created_at, type);
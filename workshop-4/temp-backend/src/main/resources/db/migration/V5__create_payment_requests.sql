@@ -0,0 +1,15 @@
+-- Settled QR payment requests; pending requests only live in memory
+CREATE TABLE IF NOT EXISTS payment_requests (
+    id varchar(36) not null,
+    recipient_id bigint not null,
+    payer_id bigint,
+    amount integer not null,
+    memo varchar(255),
+    status varchar(255) not null check (status in ('PENDING','PAID','EXPIRED')),
+    created_at timestamp not null,
+    expires_at timestamp not null,
+    completed_at timestamp,
+    primary key (id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_payment_requests_recipient_id ON payment_requests (recipient_id, created_at);
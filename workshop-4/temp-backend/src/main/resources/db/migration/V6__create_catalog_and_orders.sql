@@ -0,0 +1,39 @@
+-- Product catalog; a null stock means the product is not stock-tracked
+CREATE TABLE IF NOT EXISTS products (
+    id integer,
+    name varchar(255) not null,
+    description varchar(1000),
+    price_points integer not null check (price_points>0),
+    image_url varchar(500),
+    active boolean not null,
+    stock integer check (stock>=0),
+    created_at timestamp not null,
+    updated_at timestamp not null,
+    primary key (id)
+);
+
+-- Orders paid with points; the matching SPEND ledger entry references 'order:<id>'
+CREATE TABLE IF NOT EXISTS orders (
+    id integer,
+    user_id bigint not null,
+    total_points integer not null,
+    status varchar(255) not null check (status in ('PAID')),
+    customer_name varchar(255),
+    customer_phone varchar(255),
+    created_at timestamp not null,
+    primary key (id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_orders_user_id ON orders (user_id, created_at);
+
+CREATE TABLE IF NOT EXISTS order_items (
+    id integer,
+    order_id bigint not null,
+    product_id bigint not null,
+    product_name varchar(255) not null,
+    unit_price_points integer not null,
+    quantity integer not null check (quantity>0),
+    primary key (id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_order_items_order_id ON order_items (order_id);
@@ -0,0 +1,23 @@
+-- Durable queue of SMS receipts, written in the checkout transaction and drained by the dispatcher
+CREATE TABLE IF NOT EXISTS sms_receipts (
+    id integer,
+    order_id bigint not null,
+    phone varchar(32) not null,
+    message varchar(1000) not null,
+    status varchar(255) not null check (status in ('PENDING','SENDING','SENT','DELIVERED','DEAD')),
+    attempts integer not null,
+    next_attempt_at timestamp not null,
+    provider_message_id varchar(255),
+    last_error varchar(1000),
+    created_at timestamp not null,
+    updated_at timestamp not null,
+    primary key (id)
+);
+
+-- Dispatcher poll: due PENDING rows, oldest first
+CREATE INDEX IF NOT EXISTS idx_sms_receipts_status_next_attempt ON sms_receipts (status, next_attempt_at);
+
+-- Delivery-status webhooks look receipts up by the provider's id
+CREATE UNIQUE INDEX IF NOT EXISTS idx_sms_receipts_provider_message_id ON sms_receipts (provider_message_id);
+
+CREATE INDEX IF NOT EXISTS idx_sms_receipts_order_id ON sms_receipts (order_id);
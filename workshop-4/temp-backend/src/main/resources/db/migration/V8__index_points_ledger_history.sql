@@ -0,0 +1,2 @@
+-- Keyset pagination of a user's history: newest first by (created_at, id)
+CREATE INDEX IF NOT EXISTS idx_points_ledger_user_history ON points_ledger (user_id, created_at, id);
@@ -0,0 +1,182 @@
+package com.example.swagger.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BalanceIndexTest {
+
+    @Test
+    void unknownIdsAndTheReservedKeyAreNotFound() {
+        BalanceIndex index = new BalanceIndex();
+        assertEquals(BalanceIndex.NOT_FOUND, index.get(42L));
+
+        index.put(0L, 100, 1L);
+        assertEquals(BalanceIndex.NOT_FOUND, index.get(0L));
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    void olderVersionDoesNotOverwriteNewerBalance() {
+        BalanceIndex index = new BalanceIndex();
+        index.put(7L, 500, 20L);
+        index.put(7L, 300, 10L);
+        assertEquals(500, index.get(7L));
+
+        index.put(7L, 300, 20L);
+        assertEquals(300, index.get(7L));
+        assertEquals(1, index.size());
+    }
+
+    // A points callback that commits before a delete but runs after it must not bring the user back
+    @Test
+    void staleUpdateAfterDeleteDoesNotResurrectTheUser() {
+        BalanceIndex index = new BalanceIndex();
+        index.put(7L, 500, 10L);
+        index.remove(7L, 20L);
+        index.put(7L, 600, 20L);
+        assertEquals(BalanceIndex.NOT_FOUND, index.get(7L));
+        assertEquals(0, index.size());
+
+        // A delete can also overtake the create callback
+        index.remove(8L, 30L);
+        index.put(8L, 100, 25L);
+        assertEquals(BalanceIndex.NOT_FOUND, index.get(8L));
+
+        index.put(7L, 700, 21L);
+        assertEquals(700, index.get(7L));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void purgedTombstonesFreeTheirSlots() {
+        BalanceIndex index = new BalanceIndex();
+        for (long userId = 1; userId <= 10_000; userId++) {
+            index.put(userId, (int) userId, 1L);
+            index.remove(userId, 2L);
+        }
+        index.put(10_001L, 5, 1L);
+        index.purgeTombstones();
+
+        assertEquals(1, index.size());
+        assertEquals(5, index.get(10_001L));
+        index.put(1L, 9, 1L);
+        assertEquals(9, index.get(1L));
+    }
+
+    // Enough keys to resize every segment several times, with removals interleaved to exercise backward-shift deletion
+    @Test
+    void randomOperationsMatchHashMap() {
+        BalanceIndex index = new BalanceIndex();
+        Map<Long, long[]> expected = new HashMap<>();
+        Random random = new Random(20261019L);
+
+        for (int op = 0; op < 400_000; op++) {
+            long userId = 1 + random.nextInt(100_000);
+            int action = random.nextInt(10);
+            if (action < 6) {
+                int points = random.nextInt(1_000_000);
+                long version = random.nextInt(1_000);
+                index.put(userId, points, version);
+                long[] current = expected.get(userId);
+                boolean deleted = current != null && current[0] == BalanceIndex.NOT_FOUND;
+                if (current == null || (deleted ? version > current[1] : version >= current[1])) {
+                    expected.put(userId, new long[] {points, version});
+                }
+            } else if (action < 8) {
+                long version = random.nextInt(1_000);
+                index.remove(userId, version);
+                long[] current = expected.get(userId);
+                long tombstone = current != null ? Math.max(current[1], version) : version;
+                expected.put(userId, new long[] {BalanceIndex.NOT_FOUND, tombstone});
+            } else {
+                long[] current = expected.get(userId);
+                assertEquals(current != null ? current[0] : BalanceIndex.NOT_FOUND, index.get(userId), "user " + userId);
+            }
+        }
+
+        long live = expected.values().stream().filter(entry -> entry[0] != BalanceIndex.NOT_FOUND).count();
+        assertEquals(live, index.size());
+        for (long userId = 1; userId <= 100_000; userId++) {
+            long[] current = expected.get(userId);
+            assertEquals(current != null ? current[0] : BalanceIndex.NOT_FOUND, index.get(userId), "user " + userId);
+        }
+    }
+
+    // Sequential ids are what the users table produces; removing them in order leaves long probe runs to shift back
+    @Test
+    void sequentialIdsSurviveGrowthAndRemoval() {
+        BalanceIndex index = new BalanceIndex();
+        for (long userId = 1; userId <= 200_000; userId++) {
+            index.put(userId, (int) userId, 1L);
+        }
+        for (long userId = 1; userId <= 200_000; userId += 2) {
+            index.remove(userId, 2L);
+        }
+        assertEquals(100_000, index.size());
+        index.purgeTombstones();
+
+        assertEquals(100_000, index.size());
+        for (long userId = 1; userId <= 200_000; userId++) {
+            assertEquals(userId % 2 == 0 ? (int) userId : BalanceIndex.NOT_FOUND, index.get(userId), "user " + userId);
+        }
+    }
+
+    // Readers run optimistically while writers resize and shift entries; they must never see a value nobody wrote
+    @Test
+    void concurrentReadersOnlySeeWrittenBalances() throws InterruptedException {
+        BalanceIndex index = new BalanceIndex();
+        int writers = 4;
+        int keysPerWriter = 50_000;
+        AtomicBoolean writing = new AtomicBoolean(true);
+        ConcurrentLinkedQueue<String> errors = new ConcurrentLinkedQueue<>();
+        CountDownLatch done = new CountDownLatch(writers);
+
+        List<Thread> threads = new ArrayList<>();
+        for (int w = 0; w < writers; w++) {
+            long firstKey = 1 + (long) w * keysPerWriter;
+            threads.add(new Thread(() -> {
+                for (long key = firstKey; key < firstKey + keysPerWriter; key++) {
+                    index.put(key, (int) key, 1L);
+                    if (key % 3 == 0) {
+                        index.remove(key, 2L);
+                    }
+                }
+                done.countDown();
+            }));
+        }
+        for (int r = 0; r < 2; r++) {
+            threads.add(new Thread(() -> {
+                Random random = new Random();
+                while (writing.get()) {
+                    long key = 1 + random.nextInt(writers * keysPerWriter);
+                    int value = index.get(key);
+                    if (value != BalanceIndex.NOT_FOUND && value != key) {
+                        errors.add("user " + key + " read as " + value);
+                    }
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        done.await();
+        writing.set(false);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertTrue(errors.isEmpty(), String.valueOf(errors.peek()));
+        for (long key = 1; key <= (long) writers * keysPerWriter; key++) {
+            assertEquals(key % 3 == 0 ? BalanceIndex.NOT_FOUND : (int) key, index.get(key), "user " + key);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.swagger.cache;
+
+import com.example.swagger.model.PointsLedgerEntry;
+import com.example.swagger.model.PointsLedgerEntry.EntryType;
+import com.example.swagger.repository.PointsLedgerRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RecentActivityCacheTest {
+
+    private final PointsLedgerRepository repository = mock(PointsLedgerRepository.class);
+
+    private RecentActivityCache newCache(int size) {
+        RecentActivityCache cache = new RecentActivityCache();
+        ReflectionTestUtils.setField(cache, "pointsLedgerRepository", repository);
+        ReflectionTestUtils.setField(cache, "size", size);
+        ReflectionTestUtils.setField(cache, "maxUsers", 1_000);
+        return cache;
+    }
+
+    private static PointsLedgerEntry entry(long userId, long id) {
+        PointsLedgerEntry entry = new PointsLedgerEntry(userId, EntryType.EARN, 10, 10, null);
+        entry.setId(id);
+        return entry;
+    }
+
+    private static List<Long> ids(List<PointsLedgerEntry> entries) {
+        return entries.stream().map(PointsLedgerEntry::getId).collect(Collectors.toList());
+    }
+
+    @Test
+    void entriesAppendedWhileTheRingLoadsAreKept() {
+        RecentActivityCache cache = newCache(3);
+        when(repository.findHistory(eq(1L), any(), any())).thenAnswer(invocation -> {
+            // Committed after the query read its snapshot, so only the append carries it
+            cache.append(entry(1L, 5L));
+            return List.of(entry(1L, 4L), entry(1L, 3L), entry(1L, 2L));
+        });
+
+        assertEquals(List.of(5L, 4L, 3L), ids(cache.getRecent(1L, 3)));
+        cache.append(entry(1L, 6L));
+        assertEquals(List.of(6L, 5L), ids(cache.getRecent(1L, 2)));
+    }
+
+    // 1 and 17 share a bin in a 16-bin map, which computeIfAbsent would have locked for the whole query
+    @Test
+    void slowLoadDoesNotBlockOtherUsers() throws InterruptedException {
+        RecentActivityCache cache = newCache(3);
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(repository.findHistory(eq(1L), any(), any())).thenAnswer(invocation -> {
+            loading.countDown();
+            release.await();
+            return List.of(entry(1L, 1L));
+        });
+        when(repository.findHistory(eq(17L), any(), any())).thenReturn(List.of(entry(17L, 2L)));
+
+        Thread slowReader = new Thread(() -> cache.getRecent(1L, 3));
+        slowReader.start();
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+
+        Thread otherReader = new Thread(() -> {
+            cache.getRecent(17L, 3);
+            cache.append(entry(17L, 3L));
+        });
+        otherReader.start();
+        otherReader.join(5_000);
+        assertFalse(otherReader.isAlive(), "user 17 waited for user 1's load");
+
+        release.countDown();
+        slowReader.join();
+        assertEquals(List.of(1L), ids(cache.getRecent(1L, 3)));
+        assertEquals(List.of(3L, 2L), ids(cache.getRecent(17L, 3)));
+    }
+
+    @Test
+    void failedLoadLeavesNoRingBehind() {
+        RecentActivityCache cache = newCache(3);
+        when(repository.findHistory(eq(1L), any(), any())).thenThrow(new IllegalStateException("database down"));
+
+        assertThrows(IllegalStateException.class, () -> cache.getRecent(1L, 3));
+        assertFalse(cache.contains(1L));
+    }
+}
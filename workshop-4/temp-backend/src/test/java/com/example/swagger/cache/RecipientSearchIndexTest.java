@@ -0,0 +1,130 @@
+package com.example.swagger.cache;
+
+import com.example.swagger.dto.RecipientMatch;
+import com.example.swagger.model.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RecipientSearchIndexTest {
+
+    private static RecipientSearchIndex newIndex(int maxScanned) {
+        RecipientSearchIndex index = new RecipientSearchIndex();
+        ReflectionTestUtils.setField(index, "minQueryLength", 3);
+        ReflectionTestUtils.setField(index, "maxLimit", 20);
+        ReflectionTestUtils.setField(index, "maxScanned", maxScanned);
+        return index;
+    }
+
+    private static User user(long id, String firstName, String lastName, String email, String phone) {
+        User user = new User();
+        user.setId(id);
+        user.setFirstName(firstName);
+        user.setLastName(lastName);
+        user.setEmail(email);
+        user.setPhone(phone);
+        return user;
+    }
+
+    private static List<Long> ids(List<RecipientMatch> matches) {
+        return matches.stream().map(RecipientMatch::getUserId).collect(Collectors.toList());
+    }
+
+    @Test
+    void onlyDocumentsContainingTheWholeQueryMatch() {
+        RecipientSearchIndex index = newIndex(10_000);
+        index.index(user(1L, "John", "Smith", "js@example.com", "0811111111"));
+        index.index(user(2L, "Johanna", "Smythe", "jo@example.com", "0822222222"));
+        index.index(user(3L, "Bob", "Johnson", "bob@example.com", "0833333333"));
+
+        assertEquals(List.of(1L), ids(index.search("smith", 10, null)));
+        // "bob johnson" has the "ohn" trigram but not the ones spanning the space
+        assertEquals(List.of(1L), ids(index.search("ohn s", 10, null)));
+        assertEquals(List.of(), ids(index.search("xyz", 10, null)));
+    }
+
+    @Test
+    void wholeFieldThenStartOfWordThenAnywhere() {
+        RecipientSearchIndex index = newIndex(10_000);
+        index.index(user(1L, "Ashlee", "Ng", "a1@example.com", null));
+        index.index(user(2L, "Lee", "Park", "a2@example.com", null));
+        index.index(user(3L, "Ann", "Lee", "a3@example.com", null));
+        index.index(user(4L, "Lee", "Ho", "a4@example.com", null));
+
+        assertEquals(List.of(3L, 2L, 1L), ids(index.search("lee", 10, 4L)));
+        assertEquals(List.of(4L), ids(index.search("LEE  Ho", 10, null)));
+    }
+
+    @Test
+    void prefixMatchesAreFoundWhereverTheUserSitsInTheTrigramLists() {
+        RecipientSearchIndex index = newIndex(10);
+        for (long id = 1; id <= 100; id++) {
+            if (id == 50) {
+                index.index(user(id, "Kim", "Lee", "kim.lee@example.com", null));
+            } else {
+                index.index(user(id, "Akim", "Ivanov", "u" + id + "@example.com", null));
+            }
+        }
+
+        List<RecipientMatch> matches = index.search("kim", 20, null);
+        assertEquals(50L, matches.get(0).getUserId());
+        assertTrue(matches.size() <= 10, "scan stops after max-scanned entries, found " + matches.size());
+    }
+
+    @Test
+    void phoneQueriesMatchDigitsOnly() {
+        RecipientSearchIndex index = newIndex(10_000);
+        index.index(user(1L, "Som", "Chai", "som@example.com", "081-234-5678"));
+        index.index(user(2L, "Nok", "Noi", "nok@example.com", "099-081-2340"));
+
+        assertEquals(List.of(1L, 2L), ids(index.search("081 234", 10, null)));
+        assertEquals("xxxxxx5678", index.search("0812345678", 10, null).get(0).getMaskedPhone());
+    }
+
+    @Test
+    void updatesAndDeletesReplaceTheIndexedFields() {
+        RecipientSearchIndex index = newIndex(10_000);
+        index.index(user(1L, "Mali", "Wong", "mali@example.com", null));
+        index.index(user(1L, "Mali", "Tan", "mali@example.com", null));
+
+        assertEquals(List.of(), ids(index.search("wong", 10, null)));
+        assertEquals(List.of(1L), ids(index.search("tan", 10, null)));
+
+        index.remove(1L, LocalDateTime.now());
+        assertEquals(List.of(), ids(index.search("mali", 10, null)));
+        assertEquals(0, index.size());
+    }
+
+    // An update callback that committed before the delete but runs after it must not bring the user back
+    @Test
+    void staleIndexAfterRemoveDoesNotResurrectTheUser() {
+        RecipientSearchIndex index = newIndex(10_000);
+        LocalDateTime updated = LocalDateTime.of(2026, 1, 5, 9, 0);
+        User user = user(1L, "Mali", "Wong", "mali@example.com", null);
+        user.setUpdatedAt(updated);
+        index.index(user);
+        index.remove(1L, updated.plusSeconds(1));
+
+        index.index(user);
+        assertEquals(List.of(), ids(index.search("mali", 10, null)));
+        assertEquals(0, index.size());
+
+        index.purgeTombstones();
+        index.index(user);
+        assertEquals(List.of(1L), ids(index.search("mali", 10, null)));
+    }
+
+    @Test
+    void shortQueriesAndOversizedLimitsAreRejected() {
+        RecipientSearchIndex index = newIndex(10_000);
+        assertThrows(RuntimeException.class, () -> index.search("ab", 10, null));
+        assertThrows(RuntimeException.class, () -> index.search("abc", 21, null));
+    }
+}
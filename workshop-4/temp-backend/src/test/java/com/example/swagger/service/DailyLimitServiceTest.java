@@ -0,0 +1,99 @@
+package com.example.swagger.service;
+
+import com.example.swagger.config.DailyCapProperties;
+import com.example.swagger.model.User;
+import com.example.swagger.service.DailyLimitService.CapType;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class DailyLimitServiceTest {
+
+    private static final int CAP = 100;
+
+    private static DailyLimitService newService() {
+        DailyCapProperties properties = new DailyCapProperties();
+        properties.getSpend().put(User.MembershipLevel.BRONZE, CAP);
+        DailyLimitService service = new DailyLimitService();
+        ReflectionTestUtils.setField(service, "dailyCapProperties", properties);
+        return service;
+    }
+
+    private static User user(long id) {
+        User user = new User();
+        user.setId(id);
+        user.setMembershipLevel(User.MembershipLevel.BRONZE);
+        return user;
+    }
+
+    @Test
+    void reservationsPastTheCapAreRejectedAndNotCounted() {
+        DailyLimitService service = newService();
+        User user = user(1L);
+        service.reserve(CapType.SPEND, user, 60);
+
+        assertThrows(RuntimeException.class, () -> service.reserve(CapType.SPEND, user, 41));
+        assertEquals(60, service.getUsedToday(CapType.SPEND, 1L));
+        service.reserve(CapType.SPEND, user, 40);
+        assertEquals(100, service.getUsedToday(CapType.SPEND, 1L));
+    }
+
+    @Test
+    void evictionDropsOnlyEmptyWindows() {
+        DailyLimitService service = newService();
+        service.reserve(CapType.SPEND, user(1L), 10);
+        assertThrows(RuntimeException.class, () -> service.reserve(CapType.SPEND, user(2L), CAP + 1));
+
+        service.evictIdleWindows();
+        assertEquals(10, service.getUsedToday(CapType.SPEND, 1L));
+        assertEquals(0, service.getUsedToday(CapType.SPEND, 2L));
+    }
+
+    // A rejected reservation leaves an empty window that the sweep may retire while the next reservation is using it
+    @Test
+    void reservationsRacingTheSweepAreNotLost() throws InterruptedException {
+        DailyLimitService service = newService();
+        int threads = 4;
+        int usersPerThread = 20_000;
+        AtomicBoolean done = new AtomicBoolean();
+        Thread sweeper = new Thread(() -> {
+            while (!done.get()) {
+                service.evictIdleWindows();
+            }
+        });
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            long firstId = (long) t * usersPerThread;
+            workers.add(new Thread(() -> {
+                for (long id = firstId; id < firstId + usersPerThread; id++) {
+                    User user = user(id);
+                    try {
+                        service.reserve(CapType.SPEND, user, CAP + 1);
+                    } catch (RuntimeException expected) {
+                        // leaves an empty window behind
+                    }
+                    service.reserve(CapType.SPEND, user, 1);
+                }
+            }));
+        }
+        sweeper.start();
+        workers.forEach(Thread::start);
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        done.set(true);
+        sweeper.join();
+
+        long used = 0;
+        for (long id = 0; id < (long) threads * usersPerThread; id++) {
+            used += service.getUsedToday(CapType.SPEND, id);
+        }
+        assertEquals((long) threads * usersPerThread, used);
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.swagger.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HashedTimerWheelTest {
+
+    // Delays span several rounds of an 8-slot wheel, so remainingRounds decides when most of them fire
+    @Test
+    void timeoutsFireOnceAndNotBeforeTheirDelay() throws InterruptedException {
+        HashedTimerWheel wheel = new HashedTimerWheel("test-wheel", 5, 8);
+        try {
+            int count = 200;
+            CountDownLatch fired = new CountDownLatch(count);
+            ConcurrentLinkedQueue<String> early = new ConcurrentLinkedQueue<>();
+            AtomicInteger runs = new AtomicInteger();
+            for (int i = 0; i < count; i++) {
+                long delayMillis = i;
+                long scheduledAt = System.nanoTime();
+                wheel.schedule(() -> {
+                    long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - scheduledAt);
+                    if (elapsedMillis < delayMillis) {
+                        early.add("delay " + delayMillis + " fired after " + elapsedMillis + " ms");
+                    }
+                    runs.incrementAndGet();
+                    fired.countDown();
+                }, delayMillis);
+            }
+
+            assertTrue(fired.await(5, TimeUnit.SECONDS), "not all timeouts fired");
+            assertTrue(early.isEmpty(), String.valueOf(early.peek()));
+            Thread.sleep(100);
+            assertEquals(count, runs.get());
+            assertEquals(0, wheel.getPending());
+        } finally {
+            wheel.stop();
+        }
+    }
+
+    @Test
+    void cancelledTimeoutNeverRuns() throws InterruptedException {
+        HashedTimerWheel wheel = new HashedTimerWheel("test-wheel", 5, 8);
+        try {
+            AtomicInteger runs = new AtomicInteger();
+            List<HashedTimerWheel.Timeout> timeouts = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                timeouts.add(wheel.schedule(runs::incrementAndGet, 50));
+            }
+            CountDownLatch kept = new CountDownLatch(1);
+            wheel.schedule(kept::countDown, 50);
+            assertEquals(11, wheel.getPending());
+
+            timeouts.forEach(timeout -> assertTrue(timeout.cancel()));
+            assertEquals(1, wheel.getPending());
+            assertTrue(kept.await(5, TimeUnit.SECONDS));
+            Thread.sleep(100);
+            assertEquals(0, runs.get());
+            assertEquals(0, wheel.getPending());
+        } finally {
+            wheel.stop();
+        }
+    }
+
+    @Test
+    void cancelAfterFiringReturnsFalse() throws InterruptedException {
+        HashedTimerWheel wheel = new HashedTimerWheel("test-wheel", 5, 8);
+        try {
+            CountDownLatch fired = new CountDownLatch(1);
+            HashedTimerWheel.Timeout timeout = wheel.schedule(fired::countDown, 10);
+            assertTrue(fired.await(5, TimeUnit.SECONDS));
+            assertFalse(timeout.cancel());
+            assertEquals(0, wheel.getPending());
+        } finally {
+            wheel.stop();
+        }
+    }
+
+    @Test
+    void failingTaskDoesNotStopTheWheel() throws InterruptedException {
+        HashedTimerWheel wheel = new HashedTimerWheel("test-wheel", 5, 8);
+        try {
+            CountDownLatch fired = new CountDownLatch(1);
+            wheel.schedule(() -> {
+                throw new IllegalStateException("task failure");
+            }, 10);
+            wheel.schedule(fired::countDown, 30);
+            assertTrue(fired.await(5, TimeUnit.SECONDS));
+        } finally {
+            wheel.stop();
+        }
+    }
+
+    @Test
+    void stoppedWheelRejectsNewTimeouts() {
+        HashedTimerWheel wheel = new HashedTimerWheel("test-wheel", 5, 8);
+        wheel.stop();
+        assertThrows(IllegalStateException.class, () -> wheel.schedule(() -> { }, 10));
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.swagger.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SlidingWindowCounterTest {
+
+    private static final long BUCKET_MILLIS = 1_000;
+    private static final int BUCKETS = 10;
+
+    @Test
+    void sumCoversOnlyTheLastWindow() {
+        SlidingWindowCounter counter = new SlidingWindowCounter(BUCKETS, BUCKET_MILLIS);
+        counter.add(0, 5);
+        counter.add(4_500, 7);
+        counter.add(9_999, 11);
+
+        assertEquals(23, counter.sum(9_999));
+        // Bucket 0 leaves the window once bucket 10 is the newest
+        assertEquals(18, counter.sum(10_000));
+        assertEquals(11, counter.sum(18_000));
+        assertEquals(0, counter.sum(19_000));
+    }
+
+    @Test
+    void addResetsASlotStillHoldingAnExpiredBucket() {
+        SlidingWindowCounter counter = new SlidingWindowCounter(BUCKETS, BUCKET_MILLIS);
+        counter.add(2_000, 100);
+        // Bucket 12 maps to the same slot as bucket 2
+        counter.add(12_000, 3);
+
+        assertEquals(3, counter.sum(12_000));
+    }
+
+    @Test
+    void addForABucketAlreadyRotatedOutIsIgnored() {
+        SlidingWindowCounter counter = new SlidingWindowCounter(BUCKETS, BUCKET_MILLIS);
+        counter.add(12_000, 3);
+        counter.add(2_000, 100);
+
+        assertEquals(3, counter.sum(12_000));
+    }
+
+    @Test
+    void subtractReversesTheMatchingAdd() {
+        SlidingWindowCounter counter = new SlidingWindowCounter(BUCKETS, BUCKET_MILLIS);
+        long kept = counter.add(1_000, 40);
+        long reversed = counter.add(3_000, 25);
+        counter.subtract(reversed, 25);
+
+        assertEquals(40, counter.sum(5_000));
+        counter.subtract(kept, 40);
+        assertEquals(0, counter.sum(5_000));
+    }
+
+    @Test
+    void subtractAfterTheBucketRotatedOutIsANoOp() {
+        SlidingWindowCounter counter = new SlidingWindowCounter(BUCKETS, BUCKET_MILLIS);
+        long old = counter.add(2_000, 100);
+        counter.add(12_000, 3);
+        counter.subtract(old, 100);
+
+        assertEquals(3, counter.sum(12_000));
+    }
+
+    // Every add is a CAS retry loop on a shared slot, so concurrent adds to the same bucket must not be lost
+    @Test
+    void concurrentAddsAreNotLost() throws InterruptedException {
+        SlidingWindowCounter counter = new SlidingWindowCounter(BUCKETS, BUCKET_MILLIS);
+        int threads = 8;
+        int addsPerThread = 100_000;
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            workers.add(new Thread(() -> {
+                for (int i = 0; i < addsPerThread; i++) {
+                    long bucket = counter.add(i % 3 * BUCKET_MILLIS, 2);
+                    if (i % 4 == 0) {
+                        counter.subtract(bucket, 1);
+                    }
+                }
+            }));
+        }
+        workers.forEach(Thread::start);
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        long expected = (long) threads * (addsPerThread * 2L - addsPerThread / 4);
+        assertEquals(expected, counter.sum(2 * BUCKET_MILLIS));
+    }
+}